@@ -0,0 +1,98 @@
+package pl.orange.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-linear histogram of non negative values, 8 linear buckets per power of two (at most 12.5% error), striped counters.
+// Recording is one counter increment, the max is the top of the highest non empty bucket
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT = 2 * SUB_BUCKETS;
+    private static final int EXACT_BITS = SUB_BUCKET_BITS + 1;
+    private static final int BUCKETS = EXACT + (63 - EXACT_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+
+        counts[bucket(Math.max(0, value))].increment();
+    }
+
+    public void reset() {
+
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+    }
+
+    public HistogramSnapshot snapshot() {
+
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        double sum = 0;
+        long max = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            total += snapshot[i];
+            sum += snapshot[i] * middleValue(i);
+            if (snapshot[i] != 0) {
+                max = highestValue(i);
+            }
+        }
+
+        // Mean from bucket midpoints, saves an extra counter update per record
+        return new HistogramSnapshot(total, total == 0 ? 0 : sum / total, max,
+                percentile(snapshot, total, 0.50), percentile(snapshot, total, 0.90),
+                percentile(snapshot, total, 0.99), percentile(snapshot, total, 0.999));
+    }
+
+    static int bucket(long value) {
+
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT + (exponent - EXACT_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    // Largest value that falls into the bucket
+    static long highestValue(int bucket) {
+
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT) / SUB_BUCKETS + EXACT_BITS;
+        long subBucket = (bucket - EXACT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+
+    private static double middleValue(int bucket) {
+        return bucket == 0 ? 0 : (highestValue(bucket - 1) + 1.0 + highestValue(bucket)) / 2;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(counts.length - 1);
+    }
+}
@@ -0,0 +1,16 @@
+package pl.orange.metrics;
+
+import lombok.Data;
+
+// Point in time view of a Histogram, percentiles are bucket upper bounds
+@Data
+public class HistogramSnapshot {
+
+    private final long count;
+    private final double mean;
+    private final long max;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+}
@@ -0,0 +1,14 @@
+package pl.orange.metrics;
+
+import java.util.Map;
+
+// Receives every metric by name, latencies are in nanoseconds
+@FunctionalInterface
+public interface MetricsExporter {
+
+    void export(Map<String, HistogramSnapshot> metrics);
+
+    // Exact operation counts by name, for example "search.count"
+    default void exportCounts(Map<String, Long> counts) {
+    }
+}
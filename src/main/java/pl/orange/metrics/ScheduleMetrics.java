@@ -0,0 +1,170 @@
+package pl.orange.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process wide hot path metrics of parsing, validation and gap search, cheap enough to stay on in production.
+// Every operation is counted, but only one in sampleRate is timed and recorded, so histogram counts are of sampled operations
+public final class ScheduleMetrics {
+
+    public static final String OBJECT_NAME = "pl.orange:type=ScheduleMetrics";
+
+    public static final Histogram PARSE_LATENCY = new Histogram();
+    public static final Histogram VALIDATION_LATENCY = new Histogram();
+    public static final Histogram SEARCH_LATENCY = new Histogram();
+    public static final Histogram MEETINGS_PER_SEARCH = new Histogram();
+    public static final Histogram GAPS_PER_SEARCH = new Histogram();
+
+    public static final LongAdder PARSE_COUNT = new LongAdder();
+    public static final LongAdder VALIDATION_COUNT = new LongAdder();
+    public static final LongAdder SEARCH_COUNT = new LongAdder();
+
+    private static final Map<String, Histogram> HISTOGRAMS = new LinkedHashMap<>();
+    private static final Map<String, LongAdder> COUNTS = new LinkedHashMap<>();
+
+    static {
+        HISTOGRAMS.put("parse.latency", PARSE_LATENCY);
+        HISTOGRAMS.put("validation.latency", VALIDATION_LATENCY);
+        HISTOGRAMS.put("search.latency", SEARCH_LATENCY);
+        HISTOGRAMS.put("search.meetings", MEETINGS_PER_SEARCH);
+        HISTOGRAMS.put("search.gaps", GAPS_PER_SEARCH);
+
+        COUNTS.put("parse.count", PARSE_COUNT);
+        COUNTS.put("validation.count", VALIDATION_COUNT);
+        COUNTS.put("search.count", SEARCH_COUNT);
+    }
+
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+
+    private static volatile boolean enabled = true;
+    // Sample rate - 1, rates are powers of two
+    private static volatile int sampleMask = DEFAULT_SAMPLE_RATE - 1;
+
+    private ScheduleMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ScheduleMetrics.enabled = enabled;
+    }
+
+    public static int getSampleRate() {
+        return sampleMask + 1;
+    }
+
+    // 1 records every operation
+    public static void setSampleRate(int sampleRate) {
+
+        if (sampleRate <= 0 || Integer.bitCount(sampleRate) != 1) {
+            throw new IllegalArgumentException("Sample rate has to be a positive power of two");
+        }
+        sampleMask = sampleRate - 1;
+    }
+
+    // Counts the operation and starts its timed section, 0 when metrics are off or the operation is not sampled.
+    // The per thread random keeps threads from sharing a counter
+    public static long start(LongAdder count) {
+
+        if (!enabled) {
+            return 0;
+        }
+        count.increment();
+        return (ThreadLocalRandom.current().nextInt() & sampleMask) == 0 ? System.nanoTime() : 0;
+    }
+
+    public static void stop(Histogram latency, long start) {
+        if (start != 0) {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    public static Map<String, HistogramSnapshot> snapshot() {
+
+        Map<String, HistogramSnapshot> snapshot = new LinkedHashMap<>();
+        HISTOGRAMS.forEach((name, histogram) -> snapshot.put(name, histogram.snapshot()));
+        return snapshot;
+    }
+
+    // Exact number of operations since the last reset, whatever the sample rate
+    public static Map<String, Long> counts() {
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        COUNTS.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    public static void export(MetricsExporter exporter) {
+        exporter.export(snapshot());
+        exporter.exportCounts(counts());
+    }
+
+    public static void reset() {
+        HISTOGRAMS.values().forEach(Histogram::reset);
+        COUNTS.values().forEach(LongAdder::reset);
+    }
+
+    // Idempotent, the MBean is registered on the platform server once
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Registering " + OBJECT_NAME + " failed", e);
+        }
+    }
+
+    private static final class MXBean implements ScheduleMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return ScheduleMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            ScheduleMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public int getSampleRate() {
+            return ScheduleMetrics.getSampleRate();
+        }
+
+        @Override
+        public void setSampleRate(int sampleRate) {
+            ScheduleMetrics.setSampleRate(sampleRate);
+        }
+
+        @Override
+        public Map<String, Double> getStatistics() {
+
+            Map<String, Double> statistics = new LinkedHashMap<>();
+            counts().forEach((name, count) -> statistics.put(name, (double) count));
+            snapshot().forEach((name, histogram) -> {
+                statistics.put(name + ".count", (double) histogram.getCount());
+                statistics.put(name + ".mean", histogram.getMean());
+                statistics.put(name + ".max", (double) histogram.getMax());
+                statistics.put(name + ".p50", (double) histogram.getP50());
+                statistics.put(name + ".p90", (double) histogram.getP90());
+                statistics.put(name + ".p99", (double) histogram.getP99());
+                statistics.put(name + ".p999", (double) histogram.getP999());
+            });
+            return statistics;
+        }
+
+        @Override
+        public void reset() {
+            ScheduleMetrics.reset();
+        }
+    }
+}
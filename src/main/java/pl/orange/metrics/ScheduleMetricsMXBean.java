@@ -0,0 +1,19 @@
+package pl.orange.metrics;
+
+import java.util.Map;
+
+public interface ScheduleMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    int getSampleRate();
+
+    void setSampleRate(int sampleRate);
+
+    // Flat view, for example "search.latency.p99" -> nanoseconds or "search.count" -> operations
+    Map<String, Double> getStatistics();
+
+    void reset();
+}
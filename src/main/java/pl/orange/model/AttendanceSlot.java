@@ -0,0 +1,16 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Time range in [HH:MM] format and how many of the given people are free for all of it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSlot {
+
+    private String start;
+    private String end;
+    private int attendees;
+}
@@ -11,29 +11,72 @@ public abstract class CalendarData {
     private String end;
 
     public LocalTime getStartAsTime() {
+        int minutes = getStartAsMinutes();
+        return LocalTime.of(minutes / 60, minutes % 60);
+    }
+
+    public LocalTime getEndAsTime() {
+        int minutes = getEndAsMinutes();
+        return LocalTime.of(minutes / 60, minutes % 60);
+    }
+
+    public int getStartAsMinutes() {
 
         if (start == null) {
             throw new NullPointerException("Start time is empty");
         }
 
-        if (start.matches("(\\d{2}):(\\d{2})")) {
-            return LocalTime.parse(start);
-        } else {
+        int minutes = toMinuteOfDay(start);
+        if (minutes < 0) {
             throw new IllegalArgumentException("Start time [" + start + "] is not in required format [HH:MM]");
         }
+        return minutes;
     }
 
-    public LocalTime getEndAsTime() {
+    public int getEndAsMinutes() {
 
         if (end == null) {
             throw new NullPointerException("End time is empty");
         }
 
-        if (end.matches("(\\d{2}):(\\d{2})")) {
-            return LocalTime.parse(end);
-        } else {
+        int minutes = toMinuteOfDay(end);
+        if (minutes < 0) {
             throw new IllegalArgumentException("End time [" + end + "] is not in required format [HH:MM]");
         }
+        return minutes;
+    }
+
+    // Minute of day for a valid HH:MM string, -1 otherwise
+    public static int toMinuteOfDay(CharSequence time) {
+
+        if (time.length() != 5 || time.charAt(2) != ':') {
+            return -1;
+        }
+
+        return toMinuteOfDay(time.charAt(0), time.charAt(1), time.charAt(3), time.charAt(4));
+    }
+
+    public static int toMinuteOfDay(char[] chars, int offset, int length) {
+
+        if (length != 5 || chars[offset + 2] != ':') {
+            return -1;
+        }
+
+        return toMinuteOfDay(chars[offset], chars[offset + 1], chars[offset + 3], chars[offset + 4]);
+    }
+
+    private static int toMinuteOfDay(char hourTens, char hourUnits, char minuteTens, char minuteUnits) {
+
+        int hour = digit(hourTens) * 10 + digit(hourUnits);
+        int minute = digit(minuteTens) * 10 + digit(minuteUnits);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return -1;
+        }
+        return hour * 60 + minute;
+    }
+
+    private static int digit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -100;
     }
 }
 
@@ -0,0 +1,18 @@
+package pl.orange.model;
+
+// Read only minute-of-day calendar, meetings sorted with overlapping and adjacent ones merged
+public interface CalendarView {
+
+    int getStartOfWork();
+
+    int getEndOfWork();
+
+    // Largest step in minutes that every time of this calendar is a multiple of
+    int getGranularity();
+
+    int getMeetingCount();
+
+    int getMeetingStart(int index);
+
+    int getMeetingEnd(int index);
+}
@@ -0,0 +1,162 @@
+package pl.orange.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Immutable canonical minute-of-day form of a Calendar, meetings sorted with overlapping and adjacent ones merged
+public final class CompiledCalendar implements CalendarView {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int startOfWork;
+    private final int endOfWork;
+    private final int[] meetingStarts;
+    private final int[] meetingEnds;
+    private final int granularity;
+    private final long fingerprint;
+
+    private CompiledCalendar(int startOfWork, int endOfWork, int[] meetingStarts, int[] meetingEnds, int granularity) {
+        this.startOfWork = startOfWork;
+        this.endOfWork = endOfWork;
+        this.meetingStarts = meetingStarts;
+        this.meetingEnds = meetingEnds;
+        this.granularity = granularity;
+        this.fingerprint = fingerprint(startOfWork, endOfWork, meetingStarts, meetingEnds);
+    }
+
+    // Does not validate, see ScheduleUtils.compileCalendar
+    public static CompiledCalendar of(Calendar calendar) {
+
+        List<PlannedMeeting> plannedMeetings = calendar.getPlannedMeetings();
+        int[] starts = new int[plannedMeetings.size()];
+        int[] ends = new int[plannedMeetings.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = plannedMeetings.get(i).getStartAsMinutes();
+            ends[i] = plannedMeetings.get(i).getEndAsMinutes();
+        }
+
+        return of(calendar.getWorkingHours().getStartAsMinutes(), calendar.getWorkingHours().getEndAsMinutes(), starts, ends, starts.length);
+    }
+
+    // Copies the first count meetings, the given arrays are not retained
+    public static CompiledCalendar of(int startOfWork, int endOfWork, int[] starts, int[] ends, int count) {
+
+        // Both values fit in 16 bits, so one int sort orders meetings by start and then by end
+        int[] packed = new int[count];
+        boolean sorted = true;
+        for (int i = 0; i < count; i++) {
+            packed[i] = starts[i] << 16 | ends[i];
+            sorted &= i == 0 || packed[i - 1] <= packed[i];
+        }
+        if (!sorted) {
+            Arrays.sort(packed);
+        }
+
+        // Gaps only depend on the union of busy time, so double bookings collapse into one block
+        int[] meetingStarts = new int[count];
+        int[] meetingEnds = new int[count];
+        int merged = 0;
+        for (int i = 0; i < count; i++) {
+            int start = packed[i] >>> 16;
+            int end = packed[i] & 0xFFFF;
+            // Empty blocks, such as a meeting inside a skipped DST hour, do not take any time
+            if (end <= start) {
+                continue;
+            }
+            if (merged > 0 && start <= meetingEnds[merged - 1]) {
+                meetingEnds[merged - 1] = Math.max(meetingEnds[merged - 1], end);
+            } else {
+                meetingStarts[merged] = start;
+                meetingEnds[merged] = end;
+                merged++;
+            }
+        }
+        if (merged < count) {
+            meetingStarts = Arrays.copyOf(meetingStarts, merged);
+            meetingEnds = Arrays.copyOf(meetingEnds, merged);
+        }
+
+        int granularity = gcd(gcd(MINUTES_PER_DAY, startOfWork), endOfWork);
+        for (int i = 0; i < merged; i++) {
+            granularity = gcd(gcd(granularity, meetingStarts[i]), meetingEnds[i]);
+        }
+
+        return new CompiledCalendar(startOfWork, endOfWork, meetingStarts, meetingEnds, granularity);
+    }
+
+    // FNV-1a over all times, the same content always gives the same value
+    private static long fingerprint(int startOfWork, int endOfWork, int[] meetingStarts, int[] meetingEnds) {
+
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ startOfWork) * 0x100000001b3L;
+        hash = (hash ^ endOfWork) * 0x100000001b3L;
+        for (int i = 0; i < meetingStarts.length; i++) {
+            hash = (hash ^ meetingStarts[i]) * 0x100000001b3L;
+            hash = (hash ^ meetingEnds[i]) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int next = a % b;
+            a = b;
+            b = next;
+        }
+        return a;
+    }
+
+    @Override
+    public int getStartOfWork() {
+        return startOfWork;
+    }
+
+    @Override
+    public int getEndOfWork() {
+        return endOfWork;
+    }
+
+    @Override
+    public int getGranularity() {
+        return granularity;
+    }
+
+    // Stable 64 bit hash of the content
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public int getMeetingCount() {
+        return meetingStarts.length;
+    }
+
+    @Override
+    public int getMeetingStart(int index) {
+        return meetingStarts[index];
+    }
+
+    @Override
+    public int getMeetingEnd(int index) {
+        return meetingEnds[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompiledCalendar)) {
+            return false;
+        }
+        CompiledCalendar other = (CompiledCalendar) o;
+        return fingerprint == other.fingerprint && startOfWork == other.startOfWork && endOfWork == other.endOfWork
+                && Arrays.equals(meetingStarts, other.meetingStarts) && Arrays.equals(meetingEnds, other.meetingEnds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint);
+    }
+}
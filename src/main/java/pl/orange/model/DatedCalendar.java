@@ -0,0 +1,32 @@
+package pl.orange.model;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Calendar over many days, a date without working hours is a day off
+@Data
+public class DatedCalendar {
+
+    // Recurring weekly pattern
+    private Map<DayOfWeek, WorkingHours> weeklyWorkingHours = new EnumMap<>(DayOfWeek.class);
+    // Per date exceptions to the weekly pattern, a null value marks a day off
+    private Map<LocalDate, WorkingHours> workingHoursOnDate = new HashMap<>();
+    private List<DatedMeeting> plannedMeetings = new ArrayList<>();
+    // Expanded only for the days being searched
+    private List<RecurringMeeting> recurringMeetings = new ArrayList<>();
+
+    public WorkingHours getWorkingHoursOn(LocalDate date) {
+
+        if (workingHoursOnDate.containsKey(date)) {
+            return workingHoursOnDate.get(date);
+        }
+        return weeklyWorkingHours.get(date.getDayOfWeek());
+    }
+}
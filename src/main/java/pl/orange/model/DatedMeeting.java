@@ -0,0 +1,17 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Meeting on a calendar date, may cross midnight
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatedMeeting {
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,17 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Free time of one calendar on one date, all zero on a day off
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaySummary {
+
+    private int totalFreeMinutes;
+    private int longestFreeMinutes;
+    // Bit h is set when some minute of hour h is free
+    private int hourlyFreeMask;
+}
@@ -0,0 +1,18 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+// One question of a batch, calendars shared by many requests are compiled once
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingRequest {
+
+    private List<Calendar> calendars;
+    private Duration meetingDuration;
+}
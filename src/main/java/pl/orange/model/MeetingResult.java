@@ -0,0 +1,25 @@
+package pl.orange.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Either the gaps or the error of one request
+@Data
+public class MeetingResult {
+
+    private final List<String[]> gaps;
+    private final RuntimeException error;
+
+    public static MeetingResult of(List<String[]> gaps) {
+        return new MeetingResult(gaps, null);
+    }
+
+    public static MeetingResult failed(RuntimeException error) {
+        return new MeetingResult(null, error);
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,19 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Time range in [HH:MM] format when the required attendees and enough optional ones are free for the whole range
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuorumSlot {
+
+    private String start;
+    private String end;
+    // Positions in the optional attendee list of those who are busy at some point of the range
+    private List<Integer> unavailableOptional;
+}
@@ -0,0 +1,53 @@
+package pl.orange.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+// Meeting repeated from firstDate every interval days, weeks or months, start and end are [HH:MM] on each date.
+// Occurrences are never stored, occursOn is answered from the rule
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RecurringMeeting extends CalendarData {
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private Frequency frequency;
+    private int interval = 1;
+    private LocalDate firstDate;
+    // Last date with an occurrence, null repeats forever
+    private LocalDate lastDate;
+    // Weekly days, empty means the day of firstDate
+    private Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+    // Cancelled occurrences
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    // Monthly rules skip months without the day of firstDate
+    public boolean occursOn(LocalDate date) {
+
+        if (date.isBefore(firstDate) || lastDate != null && date.isAfter(lastDate) || exceptions.contains(date)) {
+            return false;
+        }
+
+        switch (frequency) {
+            case DAILY:
+                return ChronoUnit.DAYS.between(firstDate, date) % interval == 0;
+            case WEEKLY:
+                boolean onDay = daysOfWeek.isEmpty() ? date.getDayOfWeek() == firstDate.getDayOfWeek() : daysOfWeek.contains(date.getDayOfWeek());
+                return onDay && ChronoUnit.WEEKS.between(firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                        date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))) % interval == 0;
+            default:
+                return date.getDayOfMonth() == firstDate.getDayOfMonth()
+                        && ChronoUnit.MONTHS.between(firstDate.withDayOfMonth(1), date.withDayOfMonth(1)) % interval == 0;
+        }
+    }
+}
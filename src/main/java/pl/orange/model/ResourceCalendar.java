@@ -0,0 +1,18 @@
+package pl.orange.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// Calendar of a bookable resource, for example a room or a projector
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ResourceCalendar extends Calendar {
+
+    private String id;
+    // Number of people it holds, 0 for equipment
+    private int capacity;
+    private Set<String> features = new HashSet<>();
+}
@@ -0,0 +1,16 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Time range in [HH:MM] format when the attendees and the given resource are all free
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceSlot {
+
+    private String start;
+    private String end;
+    private String resourceId;
+}
@@ -0,0 +1,17 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Change of a group's free slots, each slot as [start, end] in [HH:MM] format
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotDelta {
+
+    private List<String[]> added;
+    private List<String[]> removed;
+}
@@ -0,0 +1,14 @@
+package pl.orange.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.ZoneId;
+
+// Calendar whose working hours and meetings are local times of the given zone
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ZonedCalendar extends Calendar {
+
+    private ZoneId zone;
+}
@@ -0,0 +1,20 @@
+package pl.orange.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZonedSlot {
+
+    private Instant start;
+    private Instant end;
+    // The same slot as [start, end] in the zone of every attendee, in the order of the given calendars
+    private List<ZonedDateTime[]> attendeeTimes;
+}
@@ -0,0 +1,220 @@
+package pl.orange.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Offline batches as newline delimited JSON, one request per line in the same format as ScheduleServer takes,
+// one answer per line in input order. Lines go to the executor in chunks and at most maxChunksInFlight chunks
+// are read ahead of the oldest unwritten one, so memory does not depend on the size of the input
+public class NdjsonBatchRunner {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+    private static final int DEFAULT_MAX_CHUNKS_IN_FLIGHT = 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Schedule schedule = new Schedule();
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    public NdjsonBatchRunner() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS_IN_FLIGHT);
+    }
+
+    public NdjsonBatchRunner(Executor executor, int chunkSize, int maxChunksInFlight) {
+
+        if (executor == null) {
+            throw new NullPointerException("Batch can not be set up with empty data");
+        }
+
+        if (chunkSize <= 0 || maxChunksInFlight <= 0) {
+            throw new IllegalArgumentException("Chunk size and number of chunks in flight have to be positive");
+        }
+
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    // [input file or -] [output file or -], standard input and output by default
+    public static void main(String[] args) throws IOException {
+
+        String input = args.length > 0 ? args[0] : "-";
+        String output = args.length > 1 ? args[1] : "-";
+
+        try (ReadableByteChannel in = "-".equals(input) ? Channels.newChannel(System.in) : FileChannel.open(Path.of(input));
+             WritableByteChannel out = "-".equals(output) ? Channels.newChannel(System.out)
+                     : FileChannel.open(Path.of(output), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            new NdjsonBatchRunner().run(in, out);
+        }
+    }
+
+    // Every line gets an answer, so answers can be matched to requests by line number. A blank, unparsable
+    // or failing line answers {"error": ...} and the batch goes on. Returns the number of answered lines,
+    // neither channel is closed
+    public long run(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+
+        if (in == null || out == null) {
+            throw new NullPointerException("Batch can not be set up with empty data");
+        }
+
+        LineReader lines = new LineReader(in);
+        OutputStream answers = new BufferedOutputStream(Channels.newOutputStream(out), BUFFER_SIZE);
+        ArrayDeque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(maxChunksInFlight);
+        long count = 0;
+
+        byte[][] chunk = new byte[chunkSize][];
+        int size = 0;
+        byte[] line;
+        while ((line = lines.next()) != null) {
+            chunk[size++] = line;
+            count++;
+            if (size == chunkSize) {
+                submit(chunk, size, inFlight);
+                chunk = new byte[chunkSize][];
+                size = 0;
+                // Reading waits for the oldest chunk, which keeps the order and bounds the memory
+                if (inFlight.size() == maxChunksInFlight) {
+                    answers.write(inFlight.poll().join());
+                }
+            }
+        }
+        if (size > 0) {
+            submit(chunk, size, inFlight);
+        }
+        while (!inFlight.isEmpty()) {
+            answers.write(inFlight.poll().join());
+        }
+
+        answers.flush();
+        return count;
+    }
+
+    private void submit(byte[][] chunk, int size, ArrayDeque<CompletableFuture<byte[]>> inFlight) {
+
+        inFlight.add(CompletableFuture.supplyAsync(() -> {
+            ByteArrayOutputStream answers = new ByteArrayOutputStream(size * 64);
+            for (int i = 0; i < size; i++) {
+                answers.writeBytes(answer(chunk[i]));
+                answers.write('\n');
+            }
+            return answers.toByteArray();
+        }, executor));
+    }
+
+    private byte[] answer(byte[] request) {
+
+        try {
+            if (isBlank(request)) {
+                return ScheduleServer.error("Given line is empty");
+            }
+
+            GapBuffer gaps = new GapBuffer();
+            try (JsonParser parser = jsonFactory.createParser(request)) {
+                ScheduleServer.findMeeting(schedule, parser, gaps);
+                // Anything after the request, such as a second one, means the line was not split right
+                if (parser.nextToken() != null) {
+                    return ScheduleServer.error("Given line is not valid JSON");
+                }
+            } catch (JsonProcessingException e) {
+                return ScheduleServer.error("Given line is not valid JSON");
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return ScheduleServer.error(e.getMessage());
+            } catch (RuntimeException e) {
+                return ScheduleServer.error("Scheduling failed");
+            }
+            return ScheduleServer.slots(gaps);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isBlank(byte[] line) {
+
+        for (byte b : line) {
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Splits a channel on '\n' through one reused buffer, a trailing '\r' is dropped
+    private static final class LineReader {
+
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private byte[] line = new byte[256];
+        private boolean eof;
+
+        private LineReader(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        // Next line, blank ones included, null at the end of input. A final '\n' does not start another line
+        private byte[] next() throws IOException {
+
+            int length = 0;
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    if (eof || !fill()) {
+                        return length > 0 ? trimmed(length) : null;
+                    }
+                }
+
+                byte b = buffer.get();
+                if (b == '\n') {
+                    return trimmed(length);
+                } else {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[length++] = b;
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+
+            buffer.clear();
+            int read = 0;
+            while (read == 0) {
+                read = channel.read(buffer);
+            }
+            buffer.flip();
+            eof = read < 0;
+            return !eof;
+        }
+
+        private byte[] trimmed(int length) {
+
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            return Arrays.copyOf(line, length);
+        }
+    }
+}
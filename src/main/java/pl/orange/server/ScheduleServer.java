@@ -0,0 +1,185 @@
+package pl.orange.server;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import pl.orange.metrics.ScheduleMetrics;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.utils.CalendarJsonParser;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// POST /meetings with {"calendars": [calendar, ...], "meeting_duration": "[HH:MM]"}, answers [["HH:MM","HH:MM"], ...]
+public class ScheduleServer {
+
+    public static final String PATH = "/meetings";
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Schedule schedule = new Schedule();
+    private final HttpServer httpServer;
+
+    public ScheduleServer(InetSocketAddress address, Executor executor) throws IOException {
+
+        if (address == null || executor == null) {
+            throw new NullPointerException("Server can not be set up with empty data");
+        }
+
+        httpServer = HttpServer.create(address, 0);
+        httpServer.createContext(PATH, this::handle);
+        httpServer.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        // Small answers would otherwise wait for delayed ACKs. JVM wide and read once when the first server is created,
+        // so it is only set for the standalone server and only when not given with -D
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        ScheduleMetrics.registerMBean();
+        ScheduleServer server = new ScheduleServer(new InetSocketAddress(port), perRequestExecutor());
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(Duration.ofSeconds(1))));
+    }
+
+    // A virtual thread per request where the JDK has them, a cached thread pool otherwise
+    public static ExecutorService perRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public void stop(Duration delay) {
+        httpServer.stop((int) delay.toSeconds());
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        // Connections are kept alive, so requests sent one after another on a connection are served in order
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, error("Only POST is supported"));
+                return;
+            }
+
+            GapBuffer gaps = new GapBuffer();
+            try (InputStream body = exchange.getRequestBody()) {
+                try (JsonParser parser = jsonFactory.createParser(body)) {
+                    parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+                    findMeeting(schedule, parser, gaps);
+                }
+                body.transferTo(OutputStream.nullOutputStream());
+            } catch (JsonProcessingException e) {
+                send(exchange, 400, error("Given body is not valid JSON"));
+                return;
+            } catch (IllegalArgumentException | NullPointerException e) {
+                send(exchange, 400, error(e.getMessage()));
+                return;
+            } catch (RuntimeException e) {
+                send(exchange, 500, error("Scheduling failed"));
+                return;
+            }
+
+            send(exchange, 200, slots(gaps));
+        }
+    }
+
+    // Calendars are read from the stream one by one, the body is never held as a whole
+    static void findMeeting(Schedule schedule, JsonParser parser, GapBuffer gaps) throws IOException {
+
+        List<CompiledCalendar> calendars = new ArrayList<>();
+        String meetingDuration = null;
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Given body is not a meeting request");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+
+            if ("calendars".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    calendars.add(CalendarJsonParser.read(parser));
+                }
+            } else if ("meeting_duration".equals(field) && value == JsonToken.VALUE_STRING) {
+                meetingDuration = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        schedule.findMeeting(calendars, Duration.ofMinutes(ScheduleUtils.parseMeetingDuration(meetingDuration)), gaps);
+    }
+
+    static byte[] slots(GapBuffer gaps) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + gaps.size() * 18);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int i = 0; i < gaps.size(); i++) {
+                generator.writeStartArray();
+                generator.writeString(ScheduleUtils.formatMinutes(gaps.getStartMinute(i)));
+                generator.writeString(ScheduleUtils.formatMinutes(gaps.getEndMinute(i)));
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] error(String message) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package pl.orange.service;
+
+import pl.orange.model.AttendanceSlot;
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Where most of a large group is free instead of where all of it is. Every partition of the calendars
+// fills difference arrays on an executor, the partitions are summed and one prefix sum gives the counts
+public class AvailabilityHeatmap {
+
+    private static final int DAY = CompiledCalendar.MINUTES_PER_DAY;
+    private static final int DEFAULT_PARTITION_SIZE = 4096;
+
+    private final Executor executor;
+    private final int partitionSize;
+
+    public AvailabilityHeatmap() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+    }
+
+    public AvailabilityHeatmap(Executor executor, int partitionSize) {
+
+        if (executor == null) {
+            throw new NullPointerException("Heatmap can not be set up with empty data");
+        }
+
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("Partition size has to be positive");
+        }
+
+        this.executor = executor;
+        this.partitionSize = partitionSize;
+    }
+
+    // Number of people free at each minute of the day
+    public int[] freeCounts(List<Calendar> calendars) {
+
+        if (calendars == null) {
+            throw new NullPointerException("Given calendars are null");
+        }
+
+        return prefixSum(aggregate(calendars, 0)[0]);
+    }
+
+    // The k windows of meetingDuration with the most people free for the whole window, best first.
+    // Windows do not overlap and on equal attendance the earlier one wins
+    public List<AttendanceSlot> findBestWindows(List<Calendar> calendars, Duration meetingDuration, int k) {
+
+        if (calendars == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (meetingDuration.toMinutes() <= 0) {
+            throw new IllegalArgumentException("Meeting has to have non zero time");
+        }
+
+        if (k <= 0) {
+            throw new IllegalArgumentException("Number of slots has to be positive");
+        }
+
+        List<AttendanceSlot> slots = new ArrayList<>();
+        if (meetingDuration.toMinutes() > DAY) {
+            return slots;
+        }
+
+        int meetingMinutes = (int) meetingDuration.toMinutes();
+        int[] attendees = prefixSum(aggregate(calendars, meetingMinutes)[1]);
+
+        // Count descending and then start ascending in one long sort
+        long[] candidates = new long[DAY - meetingMinutes + 1];
+        int size = 0;
+        for (int start = 0; start <= DAY - meetingMinutes; start++) {
+            if (attendees[start] > 0) {
+                candidates[size++] = (long) (Integer.MAX_VALUE - attendees[start]) << 32 | start;
+            }
+        }
+        Arrays.sort(candidates, 0, size);
+
+        int[] chosen = new int[k];
+        for (int i = 0; i < size && slots.size() < k; i++) {
+            int start = (int) candidates[i];
+            boolean overlaps = false;
+            for (int j = 0; j < slots.size() && !overlaps; j++) {
+                overlaps = Math.abs(chosen[j] - start) < meetingMinutes;
+            }
+            if (!overlaps) {
+                chosen[slots.size()] = start;
+                slots.add(new AttendanceSlot(ScheduleUtils.formatMinutes(start),
+                        ScheduleUtils.formatMinutes(start + meetingMinutes), attendees[start]));
+            }
+        }
+        return slots;
+    }
+
+    // [0] counts free people per minute, [1] per window start when meetingMinutes is positive
+    private int[][] aggregate(List<Calendar> calendars, int meetingMinutes) {
+
+        List<CompletableFuture<int[][]>> partitions = new ArrayList<>();
+        for (int from = 0; from < calendars.size(); from += partitionSize) {
+            List<Calendar> partition = calendars.subList(from, Math.min(calendars.size(), from + partitionSize));
+            partitions.add(CompletableFuture.supplyAsync(() -> differences(partition, meetingMinutes), executor));
+        }
+
+        int[][] total = new int[2][DAY + 1];
+        try {
+            for (CompletableFuture<int[][]> partition : partitions) {
+                int[][] differences = partition.join();
+                for (int minute = 0; minute <= DAY; minute++) {
+                    total[0][minute] += differences[0][minute];
+                    total[1][minute] += differences[1][minute];
+                }
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        return total;
+    }
+
+    private static int[][] differences(List<Calendar> calendars, int meetingMinutes) {
+
+        int[] free = new int[DAY + 1];
+        int[] windows = new int[DAY + 1];
+        for (Calendar calendar : calendars) {
+            CompiledCalendar compiledCalendar = ScheduleUtils.compileCalendar(calendar);
+            int from = compiledCalendar.getStartOfWork();
+            for (int i = 0; i <= compiledCalendar.getMeetingCount(); i++) {
+                int to = i < compiledCalendar.getMeetingCount() ? compiledCalendar.getMeetingStart(i) : compiledCalendar.getEndOfWork();
+                if (to > from) {
+                    free[from]++;
+                    free[to]--;
+                    // A window starting anywhere in [from, to - meetingMinutes] fits in this free time
+                    if (meetingMinutes > 0 && to - from >= meetingMinutes) {
+                        windows[from]++;
+                        windows[to - meetingMinutes + 1]--;
+                    }
+                }
+                if (i < compiledCalendar.getMeetingCount()) {
+                    from = compiledCalendar.getMeetingEnd(i);
+                }
+            }
+        }
+        return new int[][]{free, windows};
+    }
+
+    private static int[] prefixSum(int[] differences) {
+
+        int[] counts = new int[DAY];
+        int count = 0;
+        for (int minute = 0; minute < DAY; minute++) {
+            count += differences[minute];
+            counts[minute] = count;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,150 @@
+package pl.orange.service;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.MeetingRequest;
+import pl.orange.model.MeetingResult;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Runs many findMeeting requests on an executor, a failing request does not fail the batch
+public class BatchSchedule {
+
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final Schedule schedule;
+    private final Executor executor;
+    private final int chunkSize;
+
+    public BatchSchedule(Schedule schedule) {
+        this(schedule, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    // Any executor works, a ForkJoinPool or a virtual thread per task executor on newer JDKs
+    public BatchSchedule(Schedule schedule, Executor executor, int chunkSize) {
+
+        if (schedule == null || executor == null) {
+            throw new NullPointerException("Batch can not be set up with empty data");
+        }
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size has to be positive");
+        }
+
+        this.schedule = schedule;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<MeetingResult> findMeetings(Stream<MeetingRequest> requests) {
+
+        if (requests == null) {
+            throw new NullPointerException("Requests can not be null");
+        }
+
+        return findMeetings(requests.collect(Collectors.toList()));
+    }
+
+    // Results are in the order of the requests
+    public List<MeetingResult> findMeetings(List<MeetingRequest> requests) {
+
+        if (requests == null) {
+            throw new NullPointerException("Requests can not be null");
+        }
+
+        // Calendars are shared by reference, so each distinct instance is compiled once
+        Map<Calendar, Integer> calendarIds = new IdentityHashMap<>();
+        List<Calendar> calendars = new ArrayList<>();
+        for (MeetingRequest request : requests) {
+            if (request != null && request.getCalendars() != null) {
+                for (Calendar calendar : request.getCalendars()) {
+                    if (calendar != null && calendarIds.putIfAbsent(calendar, calendars.size()) == null) {
+                        calendars.add(calendar);
+                    }
+                }
+            }
+        }
+
+        Object[] compiled = new Object[calendars.size()];
+        runChunked(calendars.size(), i -> {
+            try {
+                compiled[i] = ScheduleUtils.compileCalendar(calendars.get(i));
+            } catch (RuntimeException e) {
+                compiled[i] = e;
+            }
+        });
+
+        MeetingResult[] results = new MeetingResult[requests.size()];
+        runChunked(requests.size(), i -> results[i] = findMeeting(requests.get(i), calendarIds, compiled));
+
+        return List.of(results);
+    }
+
+    private MeetingResult findMeeting(MeetingRequest request, Map<Calendar, Integer> calendarIds, Object[] compiled) {
+
+        try {
+            if (request == null || request.getCalendars() == null || request.getMeetingDuration() == null) {
+                throw new NullPointerException("Appointment can not be set up with empty data");
+            }
+
+            if (request.getCalendars().isEmpty()) {
+                throw new IllegalArgumentException("Appointment needs at least one calendar");
+            }
+
+            List<CompiledCalendar> calendars = new ArrayList<>(request.getCalendars().size());
+            for (Calendar calendar : request.getCalendars()) {
+                if (calendar == null) {
+                    throw new NullPointerException("Given calendar is null");
+                }
+                Object compiledCalendar = compiled[calendarIds.get(calendar)];
+                if (compiledCalendar instanceof RuntimeException) {
+                    throw (RuntimeException) compiledCalendar;
+                }
+                calendars.add((CompiledCalendar) compiledCalendar);
+            }
+
+            return MeetingResult.of(findGaps(calendars, request.getMeetingDuration()));
+        } catch (RuntimeException e) {
+            return MeetingResult.failed(e);
+        }
+    }
+
+    private List<String[]> findGaps(List<CompiledCalendar> calendars, Duration meetingDuration) {
+
+        StringGapList gaps = new StringGapList();
+        schedule.findMeeting(calendars, meetingDuration, gaps);
+        return gaps.getGaps();
+    }
+
+    private void runChunked(int size, IntConsumer task) {
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(size, from + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    task.accept(i);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+}
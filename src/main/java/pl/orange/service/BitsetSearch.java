@@ -0,0 +1,135 @@
+package pl.orange.service;
+
+import pl.orange.model.CalendarView;
+import pl.orange.model.CompiledCalendar;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Busy time of all calendars OR-ed into one bitset of 5 minute slots, free time is a run of clear bits
+final class BitsetSearch {
+
+    static final int SLOT_MINUTES = 5;
+
+    private static final int SLOTS = CompiledCalendar.MINUTES_PER_DAY / SLOT_MINUTES;
+
+    private static final ThreadLocal<BitsetSearch> PER_THREAD = ThreadLocal.withInitial(BitsetSearch::new);
+
+    private final long[] busy = new long[(SLOTS + 63) / 64];
+    private boolean searching;
+
+    static BitsetSearch current() {
+        BitsetSearch bitsetSearch = PER_THREAD.get();
+        // A sink may start another search on the same thread
+        return bitsetSearch.searching ? new BitsetSearch() : bitsetSearch;
+    }
+
+    static boolean supports(List<? extends CalendarView> calendars) {
+
+        for (int i = 0; i < calendars.size(); i++) {
+            if (calendars.get(i).getGranularity() % SLOT_MINUTES != 0 || calendars.get(i).getEndOfWork() > CompiledCalendar.MINUTES_PER_DAY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Calendars have to be on the slot grid, see supports, returns the number of gaps handed to the sink
+    int search(List<? extends CalendarView> calendars, int meetingMinutes, GapSink sink) {
+
+        searching = true;
+        try {
+            return sweep(calendars, meetingMinutes, sink);
+        } finally {
+            searching = false;
+        }
+    }
+
+    private int sweep(List<? extends CalendarView> calendars, int meetingMinutes, GapSink sink) {
+
+        int startSlot = 0;
+        int endSlot = SLOTS;
+        for (int i = 0; i < calendars.size(); i++) {
+            startSlot = Math.max(startSlot, calendars.get(i).getStartOfWork() / SLOT_MINUTES);
+            endSlot = Math.min(endSlot, calendars.get(i).getEndOfWork() / SLOT_MINUTES);
+        }
+
+        if (startSlot >= endSlot) {
+            return 0;
+        }
+
+        Arrays.fill(busy, 0L);
+        for (int i = 0; i < calendars.size(); i++) {
+            CalendarView calendar = calendars.get(i);
+            for (int m = 0; m < calendar.getMeetingCount(); m++) {
+                int from = Math.max(startSlot, calendar.getMeetingStart(m) / SLOT_MINUTES);
+                int to = Math.min(endSlot, calendar.getMeetingEnd(m) / SLOT_MINUTES);
+                if (from < to) {
+                    setRange(busy, from, to);
+                }
+            }
+        }
+
+        int gaps = 0;
+        int slot = startSlot;
+        while (slot < endSlot) {
+            int freeStart = nextClear(busy, slot, endSlot);
+            if (freeStart >= endSlot) {
+                break;
+            }
+            int freeEnd = nextSet(busy, freeStart, endSlot);
+            if ((freeEnd - freeStart) * SLOT_MINUTES >= meetingMinutes) {
+                sink.accept(freeStart * SLOT_MINUTES, freeEnd * SLOT_MINUTES);
+                gaps++;
+                if (sink.isDone()) {
+                    return gaps;
+                }
+            }
+            slot = freeEnd;
+        }
+        return gaps;
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bits[word] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    private static int nextSet(long[] bits, int from, int limit) {
+
+        int word = from >>> 6;
+        long current = bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word << 6 >= limit) {
+                return limit;
+            }
+            current = bits[word];
+        }
+        return Math.min(limit, (word << 6) + Long.numberOfTrailingZeros(current));
+    }
+
+    private static int nextClear(long[] bits, int from, int limit) {
+
+        int word = from >>> 6;
+        long current = ~bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word << 6 >= limit) {
+                return limit;
+            }
+            current = ~bits[word];
+        }
+        return Math.min(limit, (word << 6) + Long.numberOfTrailingZeros(current));
+    }
+}
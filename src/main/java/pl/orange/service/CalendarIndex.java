@@ -0,0 +1,221 @@
+package pl.orange.service;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Mutable meetings of one calendar, kept as merged busy blocks so bookings and free slot queries are O(log n)
+public class CalendarIndex {
+
+    private final int startOfWork;
+    private final int endOfWork;
+
+    // Meetings as (start << 16 | end) with their multiplicity, ordered by start
+    private final TreeMap<Integer, Integer> meetings = new TreeMap<>();
+    // Disjoint busy blocks, start -> end
+    private final TreeMap<Integer, Integer> busy = new TreeMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile CompiledCalendar snapshot;
+
+    public CalendarIndex(Calendar calendar) {
+
+        ScheduleUtils.validCalendarData(calendar);
+
+        startOfWork = calendar.getWorkingHours().getStartAsMinutes();
+        endOfWork = calendar.getWorkingHours().getEndAsMinutes();
+        for (PlannedMeeting plannedMeeting : calendar.getPlannedMeetings()) {
+            add(plannedMeeting.getStartAsMinutes(), plannedMeeting.getEndAsMinutes());
+        }
+    }
+
+    public void insert(PlannedMeeting plannedMeeting) {
+
+        int start = plannedMeeting.getStartAsMinutes();
+        int end = plannedMeeting.getEndAsMinutes();
+        validMeeting(start, end);
+
+        lock.writeLock().lock();
+        try {
+            add(start, end);
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // False when there was no such meeting
+    public boolean remove(PlannedMeeting plannedMeeting) {
+
+        int start = plannedMeeting.getStartAsMinutes();
+        int end = plannedMeeting.getEndAsMinutes();
+
+        lock.writeLock().lock();
+        try {
+            int key = start << 16 | end;
+            Integer count = meetings.get(key);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                meetings.remove(key);
+            } else {
+                meetings.put(key, count - 1);
+            }
+
+            // Only the block that held the meeting has to be merged again
+            Map.Entry<Integer, Integer> block = busy.floorEntry(start);
+            busy.remove(block.getKey());
+            for (int packed : meetings.subMap(block.getKey() << 16, block.getValue() << 16).keySet()) {
+                addBusy(packed >>> 16, packed & 0xFFFF);
+            }
+            snapshot = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Same checks as insert, true when the meeting would not overlap any busy block
+    boolean isFree(PlannedMeeting plannedMeeting) {
+
+        int start = plannedMeeting.getStartAsMinutes();
+        int end = plannedMeeting.getEndAsMinutes();
+        validMeeting(start, end);
+
+        lock.readLock().lock();
+        try {
+            Map.Entry<Integer, Integer> block = busy.lowerEntry(end);
+            return block == null || block.getValue() <= start;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(PlannedMeeting plannedMeeting) {
+
+        lock.readLock().lock();
+        try {
+            return meetings.containsKey(plannedMeeting.getStartAsMinutes() << 16 | plannedMeeting.getEndAsMinutes());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Free time of at least minMinutes within [from, to) and working hours, cost depends on the blocks in range only
+    public void findFreeSlots(int from, int to, int minMinutes, GapSink sink) {
+
+        int windowStart = Math.max(from, startOfWork);
+        int windowEnd = Math.min(to, endOfWork);
+        if (windowStart >= windowEnd) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            int freeSince = windowStart;
+            Map.Entry<Integer, Integer> first = busy.floorEntry(windowStart);
+            if (first != null) {
+                freeSince = Math.max(freeSince, first.getValue());
+            }
+
+            for (Map.Entry<Integer, Integer> block : busy.subMap(windowStart, false, windowEnd, false).entrySet()) {
+                if (block.getKey() - freeSince >= minMinutes) {
+                    sink.accept(freeSince, block.getKey());
+                    if (sink.isDone()) {
+                        return;
+                    }
+                }
+                freeSince = Math.max(freeSince, block.getValue());
+            }
+
+            if (windowEnd - freeSince >= minMinutes) {
+                sink.accept(freeSince, windowEnd);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Immutable view for Schedule searches, rebuilt only after a change
+    public CompiledCalendar snapshot() {
+
+        CompiledCalendar current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] starts = new int[busy.size()];
+            int[] ends = new int[busy.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> block : busy.entrySet()) {
+                starts[i] = block.getKey();
+                ends[i++] = block.getValue();
+            }
+            current = CompiledCalendar.of(startOfWork, endOfWork, starts, ends, i);
+            snapshot = current;
+            return current;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMeetingCount() {
+
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int multiplicity : meetings.values()) {
+                count += multiplicity;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int start, int end) {
+        meetings.merge(start << 16 | end, 1, Integer::sum);
+        addBusy(start, end);
+    }
+
+    private void addBusy(int start, int end) {
+
+        Map.Entry<Integer, Integer> before = busy.floorEntry(start);
+        if (before != null && before.getValue() >= start) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue());
+        }
+
+        NavigableMap<Integer, Integer> overlapping = busy.subMap(start, true, end, true);
+        for (int blockEnd : overlapping.values()) {
+            end = Math.max(end, blockEnd);
+        }
+        overlapping.clear();
+
+        busy.put(start, end);
+    }
+
+    private void validMeeting(int start, int end) {
+
+        if (end <= start) {
+            throw new IllegalArgumentException("Invalid planned_meeting data element, duration between start and end must be positive." +
+                    "\n start: " + ScheduleUtils.formatMinutes(start) + ", end: " + ScheduleUtils.formatMinutes(end));
+        }
+
+        if (start < startOfWork || end > endOfWork) {
+            throw new IllegalArgumentException("Invalid planned_meeting data element, meeting should be in working hours." +
+                    "\n start of work: " + ScheduleUtils.formatMinutes(startOfWork) + ", end of work: " + ScheduleUtils.formatMinutes(endOfWork) +
+                    "\n start of meeting: " + ScheduleUtils.formatMinutes(start) + ", end of meeting: " + ScheduleUtils.formatMinutes(end));
+        }
+    }
+}
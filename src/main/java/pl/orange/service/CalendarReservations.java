@@ -0,0 +1,163 @@
+package pl.orange.service;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.PlannedMeeting;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Books a meeting in several calendars at once or in none of them. Every calendar id maps to one of a fixed
+// number of lock stripes, a booking takes the stripes of its attendees in ascending order, so bookings with
+// disjoint stripes run in parallel and two bookings can never wait for each other in a cycle
+public class CalendarReservations {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Map<String, CalendarIndex> calendars = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final Schedule schedule = new Schedule();
+
+    public CalendarReservations() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public CalendarReservations(int stripes) {
+
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes has to be positive");
+        }
+
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void addCalendar(String calendarId, Calendar calendar) {
+
+        if (calendarId == null || calendar == null) {
+            throw new NullPointerException("Calendar can not be added with empty data");
+        }
+
+        if (calendars.putIfAbsent(calendarId, new CalendarIndex(calendar)) != null) {
+            throw new IllegalArgumentException("Duplicate calendar id [" + calendarId + "]");
+        }
+    }
+
+    // Candidate slots, they are only a hint until reserve succeeds
+    public void findMeeting(List<String> calendarIds, Duration meetingDuration, GapSink sink) {
+
+        List<CompiledCalendar> snapshots = new ArrayList<>(calendarIds.size());
+        for (CalendarIndex index : indexes(calendarIds)) {
+            snapshots.add(index.snapshot());
+        }
+        schedule.findMeeting(snapshots, meetingDuration, sink);
+    }
+
+    // False when any attendee is busy at that time, then no calendar is changed
+    public boolean reserve(List<String> calendarIds, PlannedMeeting plannedMeeting) {
+
+        if (plannedMeeting == null) {
+            throw new NullPointerException("Empty planned_meeting data element");
+        }
+
+        CalendarIndex[] indexes = indexes(calendarIds);
+        int[] locked = lock(calendarIds);
+        try {
+            for (CalendarIndex index : indexes) {
+                if (!index.isFree(plannedMeeting)) {
+                    return false;
+                }
+            }
+            for (CalendarIndex index : indexes) {
+                index.insert(plannedMeeting);
+            }
+            return true;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    // False when any attendee does not have the meeting, then no calendar is changed
+    public boolean release(List<String> calendarIds, PlannedMeeting plannedMeeting) {
+
+        if (plannedMeeting == null) {
+            throw new NullPointerException("Empty planned_meeting data element");
+        }
+
+        CalendarIndex[] indexes = indexes(calendarIds);
+        int[] locked = lock(calendarIds);
+        try {
+            for (CalendarIndex index : indexes) {
+                if (!index.contains(plannedMeeting)) {
+                    return false;
+                }
+            }
+            for (CalendarIndex index : indexes) {
+                index.remove(plannedMeeting);
+            }
+            return true;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    // Distinct attendees only, the same calendar given twice is booked once
+    private CalendarIndex[] indexes(List<String> calendarIds) {
+
+        if (calendarIds == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (calendarIds.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        String[] ids = calendarIds.toArray(new String[0]);
+        Arrays.sort(ids);
+        CalendarIndex[] indexes = new CalendarIndex[ids.length];
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && ids[i].equals(ids[i - 1])) {
+                continue;
+            }
+            CalendarIndex index = calendars.get(ids[i]);
+            if (index == null) {
+                throw new IllegalArgumentException("Unknown calendar id [" + ids[i] + "]");
+            }
+            indexes[count++] = index;
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    private int[] lock(List<String> calendarIds) {
+
+        int[] locked = new int[calendarIds.size()];
+        for (int i = 0; i < locked.length; i++) {
+            locked[i] = Math.floorMod(calendarIds.get(i).hashCode() * 0x9E3779B9, stripes.length);
+        }
+        Arrays.sort(locked);
+
+        int count = 0;
+        for (int i = 0; i < locked.length; i++) {
+            if (i == 0 || locked[i] != locked[i - 1]) {
+                locked[count++] = locked[i];
+                stripes[locked[i]].lock();
+            }
+        }
+        return count == locked.length ? locked : Arrays.copyOf(locked, count);
+    }
+
+    private void unlock(int[] locked) {
+
+        for (int i = locked.length - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package pl.orange.service;
+
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
+import pl.orange.model.RecurringMeeting;
+import pl.orange.model.WorkingHours;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Searches one day at a time, so only the meetings touching the current day are compiled
+final class DatedGapIterator implements Iterator<LocalDateTime[]> {
+
+    private final List<DatedCalendar> calendars;
+    private final List<CompiledCalendar> day = new ArrayList<>();
+    private final ArrayDeque<LocalDateTime[]> gaps = new ArrayDeque<>();
+    private final LocalDate to;
+    private final int meetingMinutes;
+    private final FreeTimeIndex index;
+    private final FreeTimeIndex.Summaries[] summaries;
+    private DayCursor[] cursors;
+    private LocalDate date;
+
+    // The index and the summaries are optional, days they rule out are not compiled at all
+    DatedGapIterator(List<DatedCalendar> calendars, LocalDate from, LocalDate to, int meetingMinutes,
+                     FreeTimeIndex index, FreeTimeIndex.Summaries[] summaries) {
+
+        this.calendars = calendars;
+        this.date = from;
+        this.to = to;
+        this.meetingMinutes = meetingMinutes;
+        this.index = index;
+        this.summaries = summaries;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        while (gaps.isEmpty() && date.isBefore(to)) {
+            if (index == null || index.mayFit(summaries, date, meetingMinutes)) {
+                searchDay(date);
+            }
+            date = date.plusDays(1);
+        }
+        return !gaps.isEmpty();
+    }
+
+    @Override
+    public LocalDateTime[] next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return gaps.poll();
+    }
+
+    private void searchDay(LocalDate date) {
+
+        // Meetings are not touched until some day passes the summaries, indexed calendars are read from their copy
+        if (cursors == null) {
+            cursors = new DayCursor[calendars.size()];
+            for (int i = 0; i < cursors.length; i++) {
+                FreeTimeIndex.Summaries indexed = summaries != null ? summaries[i] : null;
+                cursors[i] = indexed != null ? new DayCursor(indexed.getCalendar(), indexed.getCalendar().getPlannedMeetings())
+                        : new DayCursor(calendars.get(i), DayCursor.sorted(calendars.get(i).getPlannedMeetings()));
+            }
+        }
+
+        day.clear();
+        boolean everyoneWorks = true;
+        for (DayCursor cursor : cursors) {
+            CompiledCalendar calendar = cursor.compile(date);
+            everyoneWorks &= calendar != null;
+            day.add(calendar);
+        }
+
+        if (everyoneWorks) {
+            LocalDateTime midnight = date.atStartOfDay();
+            Schedule.search(day, meetingMinutes,
+                    (start, end) -> gaps.add(new LocalDateTime[]{midnight.plusMinutes(start), midnight.plusMinutes(end)}));
+        }
+    }
+
+    static final class DayCursor {
+
+        private final DatedCalendar calendar;
+        private final List<DatedMeeting> meetings;
+        private final List<DatedMeeting> touchingDay = new ArrayList<>();
+        private final RecurringMeeting[] rules;
+        private final int[] ruleStarts;
+        private final int[] ruleEnds;
+        private int next;
+
+        // Meetings have to be the planned meetings of the calendar sorted by start, see sorted
+        DayCursor(DatedCalendar calendar, List<DatedMeeting> meetings) {
+            this.calendar = calendar;
+            this.meetings = meetings;
+
+            // Times of the rules are parsed once, not once per occurrence
+            this.rules = calendar.getRecurringMeetings().toArray(new RecurringMeeting[0]);
+            this.ruleStarts = new int[rules.length];
+            this.ruleEnds = new int[rules.length];
+            for (int i = 0; i < rules.length; i++) {
+                ruleStarts[i] = rules[i].getStartAsMinutes();
+                ruleEnds[i] = rules[i].getEndAsMinutes();
+            }
+        }
+
+        static List<DatedMeeting> sorted(List<DatedMeeting> meetings) {
+            List<DatedMeeting> sorted = new ArrayList<>(meetings);
+            sorted.sort(Comparator.comparing(DatedMeeting::getStart));
+            return sorted;
+        }
+
+        // Dates have to come in increasing order, skipped days only cost stepping over their meetings.
+        // Null when the date is a day off
+        CompiledCalendar compile(LocalDate date) {
+
+            LocalDateTime midnight = date.atStartOfDay();
+            LocalDateTime nextMidnight = midnight.plusDays(1);
+
+            touchingDay.removeIf(meeting -> !meeting.getEnd().isAfter(midnight));
+            while (next < meetings.size() && meetings.get(next).getStart().isBefore(nextMidnight)) {
+                if (meetings.get(next).getEnd().isAfter(midnight)) {
+                    touchingDay.add(meetings.get(next));
+                }
+                next++;
+            }
+
+            WorkingHours workingHours = calendar.getWorkingHoursOn(date);
+            if (workingHours == null) {
+                return null;
+            }
+
+            int[] starts = new int[touchingDay.size() + rules.length];
+            int[] ends = new int[starts.length];
+            int count = 0;
+            for (DatedMeeting meeting : touchingDay) {
+                starts[count] = meeting.getStart().isBefore(midnight) ? 0 : (int) Duration.between(midnight, meeting.getStart()).toMinutes();
+                ends[count++] = meeting.getEnd().isAfter(nextMidnight) ? CompiledCalendar.MINUTES_PER_DAY : minutesUntil(midnight, meeting.getEnd());
+            }
+            // Occurrences of the day join the one-off meetings, CompiledCalendar sorts and merges them
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i].occursOn(date)) {
+                    starts[count] = ruleStarts[i];
+                    ends[count++] = ruleEnds[i];
+                }
+            }
+
+            return CompiledCalendar.of(workingHours.getStartAsMinutes(), workingHours.getEndAsMinutes(), starts, ends, count);
+        }
+
+        // Rounded up, a meeting ending 10:00:30 keeps 10:00 - 10:01 busy
+        private static int minutesUntil(LocalDateTime midnight, LocalDateTime time) {
+            long seconds = Duration.between(midnight, time).toSeconds();
+            return (int) ((seconds + 59) / 60);
+        }
+    }
+}
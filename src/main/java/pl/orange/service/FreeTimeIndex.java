@@ -0,0 +1,192 @@
+package pl.orange.service;
+
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
+import pl.orange.model.DaySummary;
+import pl.orange.model.RecurringMeeting;
+import pl.orange.model.WorkingHours;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per day free time summaries of dated calendars in [from, to), used by searches to skip days nobody could meet on
+// without compiling any meeting. Update validates a calendar and keeps a deep copy of it with sorted meetings, searches
+// read only that copy, so changes made later show up after the next update. Not thread safe
+public final class FreeTimeIndex {
+
+    private final LocalDate from;
+    private final int days;
+    // Calendars are mutable and compare by content, so they are tracked by identity
+    private final Map<DatedCalendar, Summaries> summaries = new IdentityHashMap<>();
+
+    public FreeTimeIndex(LocalDate from, LocalDate to) {
+
+        if (from == null || to == null) {
+            throw new NullPointerException("Index can not be set up with empty data");
+        }
+
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date can not be before start date");
+        }
+
+        this.from = from;
+        this.days = (int) ChronoUnit.DAYS.between(from, to);
+    }
+
+    public void update(DatedCalendar calendar) {
+
+        ScheduleUtils.validDatedCalendarData(calendar);
+
+        Summaries calendarSummaries = new Summaries(days, copyOf(calendar));
+        DatedGapIterator.DayCursor cursor = new DatedGapIterator.DayCursor(calendarSummaries.calendar, calendarSummaries.calendar.getPlannedMeetings());
+        for (int day = 0; day < days; day++) {
+            CompiledCalendar compiled = cursor.compile(from.plusDays(day));
+            if (compiled != null) {
+                calendarSummaries.summarize(day, compiled);
+            }
+        }
+        summaries.put(calendar, calendarSummaries);
+    }
+
+    public void remove(DatedCalendar calendar) {
+        summaries.remove(calendar);
+    }
+
+    // Null when the calendar or the date is not indexed
+    public DaySummary getSummary(DatedCalendar calendar, LocalDate date) {
+
+        Summaries calendarSummaries = summaries.get(calendar);
+        int day = dayOf(date);
+        if (calendarSummaries == null || day < 0) {
+            return null;
+        }
+        return new DaySummary(calendarSummaries.totalFree[day], calendarSummaries.longestFree[day], calendarSummaries.hourlyMasks[day]);
+    }
+
+    // Summaries of the calendars in the given order, null for the ones not indexed
+    Summaries[] summariesOf(List<DatedCalendar> calendars) {
+
+        Summaries[] result = new Summaries[calendars.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = summaries.get(calendars.get(i));
+        }
+        return result;
+    }
+
+    // False only when the summaries prove that no meetingMinutes long slot is free for everyone on the date
+    boolean mayFit(Summaries[] calendars, LocalDate date, int meetingMinutes) {
+
+        int day = dayOf(date);
+        if (day < 0) {
+            return true;
+        }
+
+        int commonMask = 0xFFFFFF;
+        for (Summaries calendar : calendars) {
+            if (calendar != null) {
+                if (calendar.longestFree[day] < meetingMinutes) {
+                    return false;
+                }
+                commonMask &= calendar.hourlyMasks[day];
+            }
+        }
+
+        // A slot touches at least ceil(meetingMinutes / 60) hours in a row and each of them needs a free minute in every calendar
+        int hours = Math.min(25, (meetingMinutes + 59) / 60);
+        int run = commonMask;
+        for (int i = 1; i < hours && run != 0; i++) {
+            run &= commonMask >>> i;
+        }
+        return run != 0;
+    }
+
+    // Deep copy with the meetings sorted by start, later changes to the calendar or any of its parts do not reach searches
+    private static DatedCalendar copyOf(DatedCalendar calendar) {
+
+        DatedCalendar copy = new DatedCalendar();
+        calendar.getWeeklyWorkingHours().forEach((dayOfWeek, workingHours) -> copy.getWeeklyWorkingHours().put(dayOfWeek, copyOf(workingHours)));
+        calendar.getWorkingHoursOnDate().forEach((date, workingHours) -> copy.getWorkingHoursOnDate().put(date, workingHours == null ? null : copyOf(workingHours)));
+        for (DatedMeeting meeting : calendar.getPlannedMeetings()) {
+            copy.getPlannedMeetings().add(new DatedMeeting(meeting.getStart(), meeting.getEnd()));
+        }
+        copy.getPlannedMeetings().sort(Comparator.comparing(DatedMeeting::getStart));
+
+        for (RecurringMeeting rule : calendar.getRecurringMeetings()) {
+            RecurringMeeting ruleCopy = new RecurringMeeting();
+            ruleCopy.setStart(rule.getStart());
+            ruleCopy.setEnd(rule.getEnd());
+            ruleCopy.setFrequency(rule.getFrequency());
+            ruleCopy.setInterval(rule.getInterval());
+            ruleCopy.setFirstDate(rule.getFirstDate());
+            ruleCopy.setLastDate(rule.getLastDate());
+            ruleCopy.getDaysOfWeek().addAll(rule.getDaysOfWeek());
+            ruleCopy.getExceptions().addAll(rule.getExceptions());
+            copy.getRecurringMeetings().add(ruleCopy);
+        }
+        return copy;
+    }
+
+    private static WorkingHours copyOf(WorkingHours workingHours) {
+
+        WorkingHours copy = new WorkingHours();
+        copy.setStart(workingHours.getStart());
+        copy.setEnd(workingHours.getEnd());
+        return copy;
+    }
+
+    private int dayOf(LocalDate date) {
+        long day = ChronoUnit.DAYS.between(from, date);
+        return day >= 0 && day < days ? (int) day : -1;
+    }
+
+    static final class Summaries {
+
+        private final short[] totalFree;
+        private final short[] longestFree;
+        private final int[] hourlyMasks;
+        private final DatedCalendar calendar;
+
+        private Summaries(int days, DatedCalendar calendar) {
+            totalFree = new short[days];
+            longestFree = new short[days];
+            hourlyMasks = new int[days];
+            this.calendar = calendar;
+        }
+
+        // The validated copy taken by update, planned meetings sorted by start. Searches read only this one
+        DatedCalendar getCalendar() {
+            return calendar;
+        }
+
+        private void summarize(int day, CompiledCalendar calendar) {
+
+            int total = 0;
+            int longest = 0;
+            int mask = 0;
+            int freeSince = calendar.getStartOfWork();
+            for (int i = 0; i <= calendar.getMeetingCount(); i++) {
+                int freeUntil = i < calendar.getMeetingCount() ? calendar.getMeetingStart(i) : calendar.getEndOfWork();
+                if (freeUntil > freeSince) {
+                    total += freeUntil - freeSince;
+                    longest = Math.max(longest, freeUntil - freeSince);
+                    for (int hour = freeSince / 60; hour <= (freeUntil - 1) / 60; hour++) {
+                        mask |= 1 << hour;
+                    }
+                }
+                if (i < calendar.getMeetingCount()) {
+                    freeSince = Math.max(freeSince, calendar.getMeetingEnd(i));
+                }
+            }
+
+            totalFree[day] = (short) total;
+            longestFree[day] = (short) longest;
+            hourlyMasks[day] = mask;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package pl.orange.service;
+
+import java.util.Arrays;
+
+// Reusable primitive sink, clear() it between searches and no garbage is produced once it has grown
+public final class GapBuffer implements GapSink {
+
+    private int[] minutes;
+    private int size;
+
+    public GapBuffer() {
+        this(8);
+    }
+
+    public GapBuffer(int initialGaps) {
+        minutes = new int[Math.max(1, initialGaps) * 2];
+    }
+
+    @Override
+    public void accept(int startMinute, int endMinute) {
+
+        if (size * 2 == minutes.length) {
+            minutes = Arrays.copyOf(minutes, minutes.length * 2);
+        }
+        minutes[size * 2] = startMinute;
+        minutes[size * 2 + 1] = endMinute;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStartMinute(int index) {
+        checkIndex(index);
+        return minutes[index * 2];
+    }
+
+    public int getEndMinute(int index) {
+        checkIndex(index);
+        return minutes[index * 2 + 1];
+    }
+
+    // Copy as {start0, end0, start1, end1, ...}
+    public int[] toArray() {
+        return Arrays.copyOf(minutes, size * 2);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Gap " + index + " out of " + size);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package pl.orange.service;
+
+import pl.orange.model.CalendarView;
+
+import java.util.List;
+
+// K-way merge of compiled calendars kept in a primitive heap, reuses its scratch arrays between searches
+final class GapSearch {
+
+    private static final ThreadLocal<GapSearch> PER_THREAD = ThreadLocal.withInitial(GapSearch::new);
+
+    private List<? extends CalendarView> calendars;
+    private int[] heap = new int[16];
+    private int[] positions = new int[16];
+    private int size;
+
+    static GapSearch current() {
+        GapSearch gapSearch = PER_THREAD.get();
+        // A sink may start another search on the same thread
+        return gapSearch.calendars == null ? gapSearch : new GapSearch();
+    }
+
+    // Returns the number of gaps handed to the sink
+    int search(List<? extends CalendarView> calendars, int meetingMinutes, GapSink sink) {
+
+        this.calendars = calendars;
+        try {
+            return sweep(meetingMinutes, sink);
+        } finally {
+            this.calendars = null;
+        }
+    }
+
+    private int sweep(int meetingMinutes, GapSink sink) {
+
+        int count = calendars.size();
+        if (heap.length < count) {
+            heap = new int[count];
+            positions = new int[count];
+        }
+
+        int possibleStartTime = 0;
+        int possibleEndTime = Integer.MAX_VALUE;
+        size = 0;
+        for (int i = 0; i < count; i++) {
+            CalendarView calendar = calendars.get(i);
+            possibleStartTime = Math.max(possibleStartTime, calendar.getStartOfWork());
+            possibleEndTime = Math.min(possibleEndTime, calendar.getEndOfWork());
+            positions[i] = 0;
+            if (calendar.getMeetingCount() > 0) {
+                heap[size++] = i;
+            }
+        }
+
+        if (possibleStartTime >= possibleEndTime) {
+            return 0;
+        }
+
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+
+        // Everyone is free from freeSince until the start of the next merged meeting
+        int freeSince = possibleStartTime;
+        int gaps = 0;
+        while (size > 0) {
+            int top = heap[0];
+            CalendarView calendar = calendars.get(top);
+            int position = positions[top];
+            int start = calendar.getMeetingStart(position);
+
+            if (start >= possibleEndTime) {
+                break;
+            }
+
+            if (start - freeSince >= meetingMinutes) {
+                sink.accept(freeSince, start);
+                gaps++;
+                if (sink.isDone()) {
+                    return gaps;
+                }
+            }
+            freeSince = Math.max(freeSince, calendar.getMeetingEnd(position));
+
+            if (++positions[top] == calendar.getMeetingCount()) {
+                heap[0] = heap[--size];
+            }
+            if (size > 0) {
+                siftDown(0);
+            }
+        }
+
+        if (possibleEndTime - freeSince >= meetingMinutes) {
+            sink.accept(freeSince, possibleEndTime);
+            gaps++;
+        }
+        return gaps;
+    }
+
+    private void siftDown(int index) {
+
+        int calendar = heap[index];
+        int key = currentStart(calendar);
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && currentStart(heap[child + 1]) < currentStart(heap[child])) {
+                child++;
+            }
+            if (key <= currentStart(heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = calendar;
+    }
+
+    private int currentStart(int calendar) {
+        return calendars.get(calendar).getMeetingStart(positions[calendar]);
+    }
+}
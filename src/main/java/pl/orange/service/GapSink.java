@@ -0,0 +1,13 @@
+package pl.orange.service;
+
+// Receives common free time in minutes of day, in increasing order
+@FunctionalInterface
+public interface GapSink {
+
+    void accept(int startMinute, int endMinute);
+
+    // Checked after every gap, true stops the search early
+    default boolean isDone() {
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package pl.orange.service;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// LRU + TTL cache of findMeeting results keyed on calendar content, a changed calendar simply gives a new key
+public class MeetingCache {
+
+    private final Schedule schedule;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MeetingCache(Schedule schedule, int maximumSize, Duration timeToLive) {
+        this(schedule, maximumSize, timeToLive, System::nanoTime);
+    }
+
+    MeetingCache(Schedule schedule, int maximumSize, Duration timeToLive, LongSupplier nanoClock) {
+
+        if (schedule == null || timeToLive == null || nanoClock == null) {
+            throw new NullPointerException("Cache can not be set up with empty data");
+        }
+
+        if (maximumSize <= 0 || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Cache size and time to live have to be positive");
+        }
+
+        this.schedule = schedule;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public List<String[]> findMeeting(List<Calendar> calendars, Duration meetingDuration) {
+
+        if (calendars == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        List<CompiledCalendar> compiledCalendars = new ArrayList<>(calendars.size());
+        for (Calendar calendar : calendars) {
+            compiledCalendars.add(ScheduleUtils.compileCalendar(calendar));
+        }
+        return findMeetingCompiled(compiledCalendars, meetingDuration);
+    }
+
+    public List<String[]> findMeetingCompiled(List<CompiledCalendar> calendars, Duration meetingDuration) {
+
+        if (calendars == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        Key key = new Key(calendars.toArray(new CompiledCalendar[0]), meetingDuration.toMinutes());
+        long now = nanoClock.getAsLong();
+
+        int[] gaps;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.createdNanos >= timeToLiveNanos) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            gaps = entry == null ? null : entry.gaps;
+        }
+
+        if (gaps != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            gaps = search(calendars, meetingDuration);
+            put(key, new Entry(gaps, now));
+        }
+
+        return StringGapList.of(gaps);
+    }
+
+    // Drops every cached answer that involved this calendar content
+    public void invalidate(CompiledCalendar calendar) {
+
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.contains(calendar));
+        }
+    }
+
+    public void invalidateAll() {
+
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private int[] search(List<CompiledCalendar> calendars, Duration meetingDuration) {
+
+        GapBuffer gaps = new GapBuffer();
+        schedule.findMeeting(calendars, meetingDuration, gaps);
+        return gaps.toArray();
+    }
+
+    private void put(Key key, Entry entry) {
+
+        synchronized (entries) {
+            entries.put(key, entry);
+
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maximumSize) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final int[] gaps;
+        private final long createdNanos;
+
+        private Entry(int[] gaps, long createdNanos) {
+            this.gaps = gaps;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private static final class Key {
+
+        private final CompiledCalendar[] calendars;
+        private final long meetingMinutes;
+        private final int hash;
+
+        private Key(CompiledCalendar[] calendars, long meetingMinutes) {
+            this.calendars = calendars;
+            this.meetingMinutes = meetingMinutes;
+            this.hash = 31 * Arrays.hashCode(calendars) + Long.hashCode(meetingMinutes);
+        }
+
+        private boolean contains(CompiledCalendar calendar) {
+            for (CompiledCalendar c : calendars) {
+                if (c.equals(calendar)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && meetingMinutes == other.meetingMinutes && Arrays.equals(calendars, other.calendars);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
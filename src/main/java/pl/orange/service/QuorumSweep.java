@@ -0,0 +1,218 @@
+package pl.orange.service;
+
+import pl.orange.model.CalendarView;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.QuorumSlot;
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sliding window [a, b) over the busy intervals of all optional attendees, time outside the common gaps of the
+// required ones is one more interval that always blocks. The right edge grows while the quorum still holds and
+// the left edge jumps to the next end of an interval in the window, so every interval enters and leaves once
+final class QuorumSweep {
+
+    private static final int REQUIRED = -1;
+    private static final int DAY = CompiledCalendar.MINUTES_PER_DAY;
+
+    private final int optionalCount;
+    private final int quorum;
+    private final int meetingMinutes;
+
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] owners = new int[64];
+    private int intervals;
+
+    private final int[] busyCount;
+    private int busyAttendees;
+    private int requiredBusy;
+    private long[] heap = new long[16];
+    private int heapSize;
+
+    QuorumSweep(int optionalCount, int quorum, int meetingMinutes) {
+        this.optionalCount = optionalCount;
+        this.quorum = quorum;
+        this.meetingMinutes = meetingMinutes;
+        this.busyCount = new int[optionalCount];
+    }
+
+    // Before work, meetings and after work of one optional attendee
+    void addOptional(int attendee, CalendarView calendar) {
+
+        addInterval(0, calendar.getStartOfWork(), attendee);
+        for (int i = 0; i < calendar.getMeetingCount(); i++) {
+            addInterval(calendar.getMeetingStart(i), calendar.getMeetingEnd(i), attendee);
+        }
+        addInterval(calendar.getEndOfWork(), DAY, attendee);
+    }
+
+    // Common gaps of the required attendees, everything else blocks
+    void addRequiredGaps(GapBuffer gaps) {
+
+        int freeFrom = 0;
+        for (int i = 0; i < gaps.size(); i++) {
+            addInterval(freeFrom, gaps.getStartMinute(i), REQUIRED);
+            freeFrom = gaps.getEndMinute(i);
+        }
+        addInterval(freeFrom, DAY, REQUIRED);
+    }
+
+    List<QuorumSlot> search() {
+
+        long[] byStart = new long[intervals];
+        for (int i = 0; i < intervals; i++) {
+            byStart[i] = (long) starts[i] << 32 | i;
+        }
+        Arrays.sort(byStart);
+
+        List<QuorumSlot> slots = new ArrayList<>();
+        int next = 0;
+        int a = 0;
+        int lastEnd = -1;
+        while (a < DAY) {
+
+            // Anything already started intersects every window beginning at a
+            while (next < intervals && (int) (byStart[next] >>> 32) <= a) {
+                int interval = (int) byStart[next++];
+                if (ends[interval] > a) {
+                    enter(interval);
+                    push(interval);
+                }
+            }
+
+            int blockedUntil = DAY;
+            if (valid()) {
+                int b;
+                while (true) {
+                    b = next < intervals ? (int) (byStart[next] >>> 32) : DAY;
+                    if (next == intervals) {
+                        break;
+                    }
+
+                    // All intervals starting at b join together or the window stops at b
+                    int group = next;
+                    while (group < intervals && (int) (byStart[group] >>> 32) == b) {
+                        enter((int) byStart[group++]);
+                    }
+                    if (valid()) {
+                        for (int i = next; i < group; i++) {
+                            push((int) byStart[i]);
+                        }
+                        next = group;
+                    } else {
+                        for (int i = next; i < group; i++) {
+                            int interval = (int) byStart[i];
+                            leave(interval);
+                            blockedUntil = Math.min(blockedUntil, ends[interval]);
+                        }
+                        break;
+                    }
+                }
+
+                if (b - a >= meetingMinutes && b > lastEnd) {
+                    slots.add(new QuorumSlot(ScheduleUtils.formatMinutes(a), ScheduleUtils.formatMinutes(b), unavailable()));
+                    lastEnd = b;
+                }
+                if (b == DAY) {
+                    break;
+                }
+            }
+
+            // Windows can only change once someone in or at the edge of the window is free again
+            a = Math.min(blockedUntil, heapSize > 0 ? (int) (heap[0] >>> 32) : DAY);
+            while (heapSize > 0 && (int) (heap[0] >>> 32) <= a) {
+                leave(pop());
+            }
+        }
+        return slots;
+    }
+
+    private boolean valid() {
+        return requiredBusy == 0 && optionalCount - busyAttendees >= quorum;
+    }
+
+    private List<Integer> unavailable() {
+
+        List<Integer> unavailable = new ArrayList<>();
+        for (int attendee = 0; attendee < optionalCount; attendee++) {
+            if (busyCount[attendee] > 0) {
+                unavailable.add(attendee);
+            }
+        }
+        return unavailable;
+    }
+
+    private void addInterval(int start, int end, int owner) {
+
+        if (start >= end) {
+            return;
+        }
+        if (intervals == starts.length) {
+            starts = Arrays.copyOf(starts, intervals * 2);
+            ends = Arrays.copyOf(ends, intervals * 2);
+            owners = Arrays.copyOf(owners, intervals * 2);
+        }
+        starts[intervals] = start;
+        ends[intervals] = end;
+        owners[intervals] = owner;
+        intervals++;
+    }
+
+    private void enter(int interval) {
+
+        int owner = owners[interval];
+        if (owner == REQUIRED) {
+            requiredBusy++;
+        } else if (busyCount[owner]++ == 0) {
+            busyAttendees++;
+        }
+    }
+
+    private void leave(int interval) {
+
+        int owner = owners[interval];
+        if (owner == REQUIRED) {
+            requiredBusy--;
+        } else if (--busyCount[owner] == 0) {
+            busyAttendees--;
+        }
+    }
+
+    // Min-heap of intervals in the window keyed by end
+    private void push(int interval) {
+
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        long key = (long) ends[interval] << 32 | interval;
+        int index = heapSize++;
+        while (index > 0 && heap[(index - 1) / 2] > key) {
+            heap[index] = heap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        heap[index] = key;
+    }
+
+    private int pop() {
+
+        int interval = (int) heap[0];
+        long last = heap[--heapSize];
+        int index = 0;
+        while (2 * index + 1 < heapSize) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return interval;
+    }
+}
@@ -0,0 +1,178 @@
+package pl.orange.service;
+
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.ResourceCalendar;
+import pl.orange.model.ResourceSlot;
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable set of resources sorted by capacity with one bitset of positions per feature,
+// so a query is a capacity suffix AND-ed with the bitsets of the required features
+public final class ResourceIndex {
+
+    private static final long[] NONE = new long[0];
+
+    private final String[] ids;
+    private final CompiledCalendar[] calendars;
+    private final int[] capacities;
+    private final Map<String, long[]> featurePositions = new HashMap<>();
+
+    public ResourceIndex(List<ResourceCalendar> resources) {
+
+        if (resources == null) {
+            throw new NullPointerException("Given resources are null");
+        }
+
+        List<ResourceCalendar> sorted = new ArrayList<>(resources);
+        Set<String> seen = new HashSet<>();
+        for (ResourceCalendar resource : sorted) {
+            if (resource == null || resource.getId() == null) {
+                throw new NullPointerException("Resource id is null");
+            }
+            if (!seen.add(resource.getId())) {
+                throw new IllegalArgumentException("Duplicate resource id [" + resource.getId() + "]");
+            }
+            if (resource.getCapacity() < 0) {
+                throw new IllegalArgumentException("Resource [" + resource.getId() + "] has negative capacity");
+            }
+        }
+        sorted.sort((a, b) -> Integer.compare(a.getCapacity(), b.getCapacity()));
+
+        int count = sorted.size();
+        ids = new String[count];
+        calendars = new CompiledCalendar[count];
+        capacities = new int[count];
+        for (int i = 0; i < count; i++) {
+            ResourceCalendar resource = sorted.get(i);
+            ids[i] = resource.getId();
+            calendars[i] = ScheduleUtils.compileCalendar(resource);
+            capacities[i] = resource.getCapacity();
+            if (resource.getFeatures() != null) {
+                for (String feature : resource.getFeatures()) {
+                    featurePositions.computeIfAbsent(feature, f -> new long[(count + 63) / 64])[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Positions of resources with enough capacity and every feature, smallest capacity first
+    int[] candidates(int minCapacity, Set<String> requiredFeatures) {
+
+        int from = lowerBound(minCapacity);
+        long[] words = new long[(ids.length + 63) / 64];
+        Arrays.fill(words, -1L);
+        for (String feature : requiredFeatures) {
+            long[] positions = featurePositions.getOrDefault(feature, NONE);
+            for (int w = from >>> 6; w < words.length; w++) {
+                words[w] &= w < positions.length ? positions[w] : 0L;
+            }
+        }
+
+        int[] candidates = new int[ids.length - from];
+        int size = 0;
+        for (int w = from >>> 6; w < words.length; w++) {
+            long word = words[w];
+            if (w == from >>> 6) {
+                word &= -1L << from;
+            }
+            while (word != 0) {
+                int position = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (position >= ids.length) {
+                    break;
+                }
+                candidates[size++] = position;
+                word &= word - 1;
+            }
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    // Attendee gaps intersected with each candidate's free time. A piece inside a longer one of another
+    // resource is dropped, so every possible meeting fits one returned slot and ties go to the smallest resource
+    List<ResourceSlot> search(GapBuffer gaps, int meetingMinutes, int[] candidates) {
+
+        long[] pieces = new long[16];
+        int size = 0;
+        for (int position : candidates) {
+            CompiledCalendar calendar = calendars[position];
+            for (int g = 0; g < gaps.size(); g++) {
+                int from = Math.max(gaps.getStartMinute(g), calendar.getStartOfWork());
+                int to = Math.min(gaps.getEndMinute(g), calendar.getEndOfWork());
+
+                int meeting = firstEndingAfter(calendar, from);
+                while (to - from >= meetingMinutes) {
+                    int busyFrom = meeting < calendar.getMeetingCount() ? Math.min(to, calendar.getMeetingStart(meeting)) : to;
+                    if (busyFrom - from >= meetingMinutes) {
+                        if (size == pieces.length) {
+                            pieces = Arrays.copyOf(pieces, size * 2);
+                        }
+                        pieces[size++] = pack(from, busyFrom, position);
+                    }
+                    if (meeting >= calendar.getMeetingCount()) {
+                        break;
+                    }
+                    from = Math.max(from, calendar.getMeetingEnd(meeting++));
+                }
+            }
+        }
+        Arrays.sort(pieces, 0, size);
+
+        List<ResourceSlot> slots = new ArrayList<>();
+        int coveredUntil = -1;
+        for (int i = 0; i < size; i++) {
+            int start = (int) (pieces[i] >>> 42);
+            int end = CompiledCalendar.MINUTES_PER_DAY - (int) (pieces[i] >>> 31 & 0x7FF);
+            if (end > coveredUntil) {
+                slots.add(new ResourceSlot(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(end), ids[(int) (pieces[i] & 0x7FFFFFFF)]));
+                coveredUntil = end;
+            }
+        }
+        return slots;
+    }
+
+    // Start ascending, then longer first, then smaller resource first
+    private static long pack(int start, int end, int position) {
+        return (long) start << 42 | (long) (CompiledCalendar.MINUTES_PER_DAY - end) << 31 | position;
+    }
+
+    private int lowerBound(int minCapacity) {
+
+        int low = 0;
+        int high = capacities.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (capacities[middle] < minCapacity) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int firstEndingAfter(CompiledCalendar calendar, int minute) {
+
+        int low = 0;
+        int high = calendar.getMeetingCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (calendar.getMeetingEnd(middle) <= minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -1,16 +1,33 @@
 package pl.orange.service;
 
+import pl.orange.metrics.ScheduleMetrics;
 import pl.orange.model.Calendar;
-import pl.orange.model.PlannedMeeting;
+import pl.orange.model.CalendarView;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.QuorumSlot;
+import pl.orange.model.ResourceSlot;
+import pl.orange.model.ZonedCalendar;
+import pl.orange.model.ZonedSlot;
+import pl.orange.store.CalendarStore;
 import pl.orange.utils.ScheduleUtils;
+import pl.orange.utils.ZoneAxis;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeParseException;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 public class Schedule {
@@ -19,22 +36,29 @@ public class Schedule {
     // meetingDuration time format: [HH:MM]
     public List<String[]> findMeeting(String calendar1String, String calendar2String, String meetingDuration) {
 
-        if (calendar1String == null || calendar2String == null || meetingDuration == null) {
+        StringGapList gaps = new StringGapList();
+        findMeeting(calendar1String, calendar2String, meetingDuration, gaps);
+        return gaps.getGaps();
+    }
+
+    public void findMeeting(String calendar1String, String calendar2String, String meetingDuration, GapSink sink) {
+
+        if (calendar1String == null || calendar2String == null || meetingDuration == null || sink == null) {
             throw new NullPointerException("Appointment can not be set up with empty data");
         }
 
-        Calendar calendar1;
-        Calendar calendar2;
+        CompiledCalendar calendar1;
+        CompiledCalendar calendar2;
         try {
-            calendar1 = ScheduleUtils.parseJsonToCalendar(calendar1String);
-            calendar2 = ScheduleUtils.parseJsonToCalendar(calendar2String);
+            calendar1 = ScheduleUtils.parseJsonToCompiledCalendar(calendar1String);
+            calendar2 = ScheduleUtils.parseJsonToCompiledCalendar(calendar2String);
         } catch (IOException e) {
             throw new RuntimeException("Parsing JSON string failed");
         }
 
-        long meetingMinutes = parseTime(meetingDuration);
+        long meetingMinutes = ScheduleUtils.parseMeetingDuration(meetingDuration);
 
-        return findGaps(calendar1, calendar2, meetingMinutes);
+        search(List.of(calendar1, calendar2), (int) meetingMinutes, sink);
     }
 
     public List<String[]> findMeeting(Calendar calendar1, Calendar calendar2, String meetingDuration) {
@@ -43,12 +67,12 @@ public class Schedule {
             throw new NullPointerException("Appointment can not be set up with empty data");
         }
 
-        ScheduleUtils.validCalendarData(calendar1);
-        ScheduleUtils.validCalendarData(calendar2);
+        CompiledCalendar compiledCalendar1 = ScheduleUtils.compileCalendar(calendar1);
+        CompiledCalendar compiledCalendar2 = ScheduleUtils.compileCalendar(calendar2);
 
-        long meetingMinutes = parseTime(meetingDuration);
+        long meetingMinutes = ScheduleUtils.parseMeetingDuration(meetingDuration);
 
-        return findGaps(calendar1, calendar2, meetingMinutes);
+        return findGaps(List.of(compiledCalendar1, compiledCalendar2), meetingMinutes);
     }
 
     public List<String[]> findMeeting(Calendar calendar1, Calendar calendar2, LocalTime meetingDuration) {
@@ -57,103 +81,283 @@ public class Schedule {
             throw new NullPointerException("Appointment can not be set up with empty data");
         }
 
-        ScheduleUtils.validCalendarData(calendar1);
-        ScheduleUtils.validCalendarData(calendar2);
+        CompiledCalendar compiledCalendar1 = ScheduleUtils.compileCalendar(calendar1);
+        CompiledCalendar compiledCalendar2 = ScheduleUtils.compileCalendar(calendar2);
 
         long meetingMinutes = meetingDuration.getMinute();
 
-        return findGaps(calendar1, calendar2, meetingMinutes);
+        return findGaps(List.of(compiledCalendar1, compiledCalendar2), meetingMinutes);
     }
 
-    private List<String[]> findGaps(Calendar calendar1, Calendar calendar2, long meetingMinutes) {
+    public List<String[]> findMeeting(List<Calendar> calendars, Duration meetingDuration) {
+
+        if (calendars == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        List<CompiledCalendar> compiledCalendars = new ArrayList<>(calendars.size());
+        for (Calendar calendar : calendars) {
+            compiledCalendars.add(ScheduleUtils.compileCalendar(calendar));
+        }
 
-        // Getting a later start time considering working hours of both
-        LocalTime possibleStartTime = calendar1.getWorkingHours().getStartAsTime()
-                .isBefore(calendar2.getWorkingHours().getStartAsTime())
-                ? calendar2.getWorkingHours().getStartAsTime()
-                : calendar1.getWorkingHours().getStartAsTime();
+        return findGaps(compiledCalendars, toMinutes(meetingDuration));
+    }
 
-        // Getting an earlier end time considering working hours of both
-        LocalTime possibleEndTime = calendar1.getWorkingHours().getEndAsTime()
-                .isBefore(calendar2.getWorkingHours().getEndAsTime())
-                ? calendar1.getWorkingHours().getEndAsTime()
-                : calendar2.getWorkingHours().getEndAsTime();
+    // Compiled calendars are already valid, with a reused GapBuffer as the sink nothing is allocated
+    public void findMeeting(List<? extends CalendarView> calendars, Duration meetingDuration, GapSink sink) {
 
-        if (possibleStartTime.isAfter(possibleEndTime)) {
-            return new ArrayList<>();
+        if (calendars == null || meetingDuration == null || sink == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
         }
 
-        List<String[]> gaps = new ArrayList<>();
+        search(calendars, toMinutes(meetingDuration), sink);
+    }
+
+    // Calendars are read in place from the store, no Calendar or CompiledCalendar is built
+    public void findMeeting(CalendarStore store, int[] userIds, Duration meetingDuration, GapSink sink) {
+
+        if (store == null || userIds == null || meetingDuration == null || sink == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
 
-        ArrayList<PlannedMeeting> meetings = new ArrayList<>();
-        meetings.addAll(calendar1.getPlannedMeetings());
-        meetings.addAll(calendar2.getPlannedMeetings());
+        if (userIds.length == 0) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
 
-        Comparator<PlannedMeeting> byStartTime = (o1, o2) -> {
-            if (o1.getStartAsTime().compareTo(o2.getStartAsTime()) < 0) {
-                return -1;
-            } else if (o1.getStartAsTime().compareTo(o2.getStartAsTime()) > 0) {
-                return 1;
-            } else {
-                return Integer.compare(o1.getEndAsTime().compareTo(o2.getEndAsTime()), 0);
+        CalendarView[] calendars = new CalendarView[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            calendars[i] = store.get(userIds[i]);
+            if (calendars[i] == null) {
+                throw new IllegalArgumentException("Unknown user id [" + userIds[i] + "]");
             }
-        };
+        }
+
+        search(Arrays.asList(calendars), toMinutes(meetingDuration), sink);
+    }
 
-        meetings.sort(byStartTime);
+    // Slots where every attendee and at least one resource with minCapacity and all requiredFeatures are free,
+    // each with the resource to book
+    public List<ResourceSlot> findMeeting(List<Calendar> calendars, Duration meetingDuration, ResourceIndex resources,
+                                          int minCapacity, Set<String> requiredFeatures) {
 
-        // Gap between possible start time and first scheduled meeting
-        if (meetings.size() > 0 && Duration.between(possibleStartTime, meetings.get(0).getStartAsTime()).toMinutes() >= meetingMinutes) {
-            gaps.add(new String[]{possibleStartTime.toString(), meetings.get(0).getStart()});
+        if (calendars == null || meetingDuration == null || resources == null || requiredFeatures == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
         }
 
-        for (int i = 1; i < meetings.size(); i++) {
-            PlannedMeeting firstMeeting = meetings.get(i - 1);
-            PlannedMeeting secondMeeting = meetings.get(i);
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
 
-            LocalTime startOfTheMeeting = firstMeeting.getEndAsTime();
-            LocalTime endOfTheMeeting = secondMeeting.getStartAsTime();
+        List<CompiledCalendar> compiledCalendars = new ArrayList<>(calendars.size());
+        for (Calendar calendar : calendars) {
+            compiledCalendars.add(ScheduleUtils.compileCalendar(calendar));
+        }
 
-            if (firstMeeting.getEndAsTime().compareTo(possibleStartTime) < 0) {
-                startOfTheMeeting = possibleStartTime;
-            }
+        int meetingMinutes = toMinutes(meetingDuration);
+        int[] candidates = resources.candidates(minCapacity, requiredFeatures);
+        if (candidates.length == 0) {
+            return new ArrayList<>();
+        }
+
+        GapBuffer gaps = new GapBuffer();
+        search(compiledCalendars, meetingMinutes, gaps);
+        return resources.search(gaps, meetingMinutes, candidates);
+    }
+
+    // Slots where every required attendee and at least quorum optional ones are free for the whole slot,
+    // each listing the optional attendees who are not. Without required attendees the quorum is at least one.
+    // Linear in the number of meetings after one sort
+    public List<QuorumSlot> findQuorumMeeting(List<Calendar> required, List<Calendar> optional, int quorum, Duration meetingDuration) {
+
+        if (required == null || optional == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
 
-            if (secondMeeting.getStartAsTime().compareTo(possibleEndTime) > 0) {
-                endOfTheMeeting = possibleEndTime;
+        if (required.isEmpty() && optional.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        if (quorum < 0 || quorum > optional.size()) {
+            throw new IllegalArgumentException("Quorum has to be between 0 and the number of optional attendees");
+        }
+
+        int meetingMinutes = toMinutes(meetingDuration);
+        // Without required attendees someone still has to come, otherwise the whole day, nights included, would match
+        int effectiveQuorum = required.isEmpty() ? Math.max(1, quorum) : quorum;
+        QuorumSweep sweep = new QuorumSweep(optional.size(), effectiveQuorum, meetingMinutes);
+        for (int i = 0; i < optional.size(); i++) {
+            sweep.addOptional(i, ScheduleUtils.compileCalendar(optional.get(i)));
+        }
+
+        if (!required.isEmpty()) {
+            List<CompiledCalendar> compiledCalendars = new ArrayList<>(required.size());
+            for (Calendar calendar : required) {
+                compiledCalendars.add(ScheduleUtils.compileCalendar(calendar));
             }
+            GapBuffer gaps = new GapBuffer();
+            search(compiledCalendars, meetingMinutes, gaps);
+            sweep.addRequiredGaps(gaps);
+        }
+
+        return sweep.search();
+    }
+
+    // The k best slots by the ranking, best first. A zero step ranks whole gaps,
+    // otherwise every gap is split into meetingDuration long slots starting each step
+    public List<String[]> findBestMeetings(List<Calendar> calendars, Duration meetingDuration, SlotRanking ranking, int k, Duration step) {
+
+        if (calendars == null || meetingDuration == null || ranking == null || step == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        if (k <= 0 || step.isNegative()) {
+            throw new IllegalArgumentException("Number of slots has to be positive and step can not be negative");
+        }
+
+        List<CompiledCalendar> compiledCalendars = new ArrayList<>(calendars.size());
+        int windowEnd = CompiledCalendar.MINUTES_PER_DAY;
+        for (Calendar calendar : calendars) {
+            CompiledCalendar compiledCalendar = ScheduleUtils.compileCalendar(calendar);
+            compiledCalendars.add(compiledCalendar);
+            windowEnd = Math.min(windowEnd, compiledCalendar.getEndOfWork());
+        }
+
+        int meetingMinutes = toMinutes(meetingDuration);
+        TopSlots slots = new TopSlots(ranking, k, meetingMinutes, (int) Math.min(step.toMinutes(), CompiledCalendar.MINUTES_PER_DAY), windowEnd);
+        search(compiledCalendars, meetingMinutes, slots);
+        return slots.drain();
+    }
+
+    // Days in [from, to) are searched lazily one by one as the stream is consumed, each element is {start, end}
+    public Stream<LocalDateTime[]> findMeeting(List<DatedCalendar> calendars, LocalDate from, LocalDate to, Duration meetingDuration) {
+
+        if (calendars == null || from == null || to == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        for (DatedCalendar calendar : calendars) {
+            ScheduleUtils.validDatedCalendarData(calendar);
+        }
 
-            Duration duration = Duration.between(startOfTheMeeting, endOfTheMeeting);
-            long gapMinutes = duration.toMinutes();
+        return findDatedGaps(calendars, from, to, meetingDuration, null, null);
+    }
+
+    // Same as above, days on which the index shows that some attendee has no long enough free time are skipped
+    // without compiling them. Indexed calendars are searched as of their last update, validated and sorted then.
+    // Calendars or dates missing from the index are searched in full
+    public Stream<LocalDateTime[]> findMeeting(List<DatedCalendar> calendars, LocalDate from, LocalDate to, Duration meetingDuration, FreeTimeIndex index) {
+
+        if (calendars == null || from == null || to == null || meetingDuration == null || index == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
 
-            if (gapMinutes >= meetingMinutes) {
-                gaps.add(new String[]{startOfTheMeeting.toString(), endOfTheMeeting.toString()});
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        FreeTimeIndex.Summaries[] summaries = index.summariesOf(calendars);
+        for (int i = 0; i < summaries.length; i++) {
+            if (summaries[i] == null) {
+                ScheduleUtils.validDatedCalendarData(calendars.get(i));
             }
         }
 
-        // Checking gaps after last meeting (if there is any) and possible end
-        if (meetings.size() > 0 && Duration.between(meetings.get(meetings.size() - 1).getEndAsTime(), possibleEndTime).toMinutes() >= meetingMinutes) {
-            gaps.add(new String[]{meetings.get(meetings.size() - 1).getEndAsTime().toString(), possibleEndTime.toString()});
-        } else if (meetings.size() == 0 && Duration.between(possibleStartTime, possibleEndTime).toMinutes() >= meetingMinutes) {
-            gaps.add(new String[]{possibleStartTime.toString(), possibleEndTime.toString()});
+        return findDatedGaps(calendars, from, to, meetingDuration, index, summaries);
+    }
+
+    private Stream<LocalDateTime[]> findDatedGaps(List<DatedCalendar> calendars, LocalDate from, LocalDate to, Duration meetingDuration,
+                                                  FreeTimeIndex index, FreeTimeIndex.Summaries[] summaries) {
+
+        DatedGapIterator gaps = new DatedGapIterator(calendars, from, to, toMinutes(meetingDuration), index, summaries);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(gaps, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Calendars in different zones on the same date, searched on the shared UTC axis, DST changes included.
+    // Every slot comes as instants and as local times of each attendee, which can fall on another date
+    public List<ZonedSlot> findMeeting(List<ZonedCalendar> calendars, LocalDate date, Duration meetingDuration) {
+
+        if (calendars == null || date == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (calendars.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        List<CompiledCalendar> compiledCalendars = new ArrayList<>(calendars.size());
+        for (ZonedCalendar calendar : calendars) {
+            compiledCalendars.add(ScheduleUtils.compileCalendar(calendar, date));
         }
 
-        return gaps;
+        GapBuffer gaps = new GapBuffer();
+        search(compiledCalendars, toMinutes(meetingDuration), gaps);
+
+        List<ZonedSlot> slots = new ArrayList<>(gaps.size());
+        for (int i = 0; i < gaps.size(); i++) {
+            Instant start = ZoneAxis.toInstant(date, gaps.getStartMinute(i));
+            Instant end = ZoneAxis.toInstant(date, gaps.getEndMinute(i));
+            List<ZonedDateTime[]> attendeeTimes = new ArrayList<>(calendars.size());
+            for (ZonedCalendar calendar : calendars) {
+                attendeeTimes.add(new ZonedDateTime[]{start.atZone(calendar.getZone()), end.atZone(calendar.getZone())});
+            }
+            slots.add(new ZonedSlot(start, end, attendeeTimes));
+        }
+        return slots;
     }
 
+    private List<String[]> findGaps(List<CompiledCalendar> calendars, long meetingMinutes) {
 
-    private long parseTime(String timeString) {
+        StringGapList gaps = new StringGapList();
+        search(calendars, (int) meetingMinutes, gaps);
+        return gaps.getGaps();
+    }
 
-        long meetingMinutes;
-        try {
-            LocalTime meetingLocalTime = LocalTime.parse(timeString.substring(1, timeString.length() - 1));
-            meetingMinutes = meetingLocalTime.getHour() * 60 + meetingLocalTime.getMinute();
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Bad time format, use [HH:MM]");
+    // Calendars on the 5 minute grid fit in a bitset, anything else goes through the k-way merge
+    static void search(List<? extends CalendarView> calendars, int meetingMinutes, GapSink sink) {
+
+        long start = ScheduleMetrics.start(ScheduleMetrics.SEARCH_COUNT);
+        int gaps;
+        if (BitsetSearch.supports(calendars)) {
+            gaps = BitsetSearch.current().search(calendars, meetingMinutes, sink);
+        } else {
+            gaps = GapSearch.current().search(calendars, meetingMinutes, sink);
         }
 
-        if (meetingMinutes == 0) {
+        // Only sampled searches pay for the recording and the meeting count
+        if (start != 0) {
+            ScheduleMetrics.stop(ScheduleMetrics.SEARCH_LATENCY, start);
+            int meetings = 0;
+            for (int i = 0; i < calendars.size(); i++) {
+                meetings += calendars.get(i).getMeetingCount();
+            }
+            ScheduleMetrics.MEETINGS_PER_SEARCH.record(meetings);
+            ScheduleMetrics.GAPS_PER_SEARCH.record(gaps);
+        }
+    }
+
+    private int toMinutes(Duration meetingDuration) {
+
+        long meetingMinutes = meetingDuration.toMinutes();
+        if (meetingMinutes <= 0) {
             throw new IllegalArgumentException("Meeting has to have non zero time");
         }
 
-        return meetingMinutes;
+        return (int) Math.min(meetingMinutes, Integer.MAX_VALUE);
     }
 }
@@ -0,0 +1,10 @@
+package pl.orange.service;
+
+import pl.orange.model.SlotDelta;
+
+// Called in change order while the hub is locked, so it should only hand the delta over
+@FunctionalInterface
+public interface SlotListener {
+
+    void onChange(SlotDelta delta);
+}
@@ -0,0 +1,78 @@
+package pl.orange.service;
+
+import java.time.LocalTime;
+
+// Scoring policy of the ranked search, a higher score is a better slot
+public interface SlotRanking {
+
+    double score(int slotStart, int gapStart, int gapEnd);
+
+    // No slot in free time starting at or after minute, and ending by windowEnd, scores higher than this
+    double upperBound(int minute, int windowEnd);
+
+    // No slot of the free time gapStart - gapEnd starting at or after slotStart scores higher than this,
+    // so the rest of a long gap can be skipped. By default the whole gap is scored
+    default double upperBound(int slotStart, int gapStart, int gapEnd) {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    static SlotRanking earliest() {
+        return new SlotRanking() {
+            @Override
+            public double score(int slotStart, int gapStart, int gapEnd) {
+                return -slotStart;
+            }
+
+            @Override
+            public double upperBound(int minute, int windowEnd) {
+                return -minute;
+            }
+
+            @Override
+            public double upperBound(int slotStart, int gapStart, int gapEnd) {
+                return -slotStart;
+            }
+        };
+    }
+
+    // Slots inside longer free time first
+    static SlotRanking longest() {
+        return new SlotRanking() {
+            @Override
+            public double score(int slotStart, int gapStart, int gapEnd) {
+                return gapEnd - gapStart;
+            }
+
+            @Override
+            public double upperBound(int minute, int windowEnd) {
+                return windowEnd - minute;
+            }
+
+            @Override
+            public double upperBound(int slotStart, int gapStart, int gapEnd) {
+                return gapEnd - gapStart;
+            }
+        };
+    }
+
+    static SlotRanking closestTo(LocalTime preferredStart) {
+
+        int preferred = preferredStart.getHour() * 60 + preferredStart.getMinute();
+        return new SlotRanking() {
+            @Override
+            public double score(int slotStart, int gapStart, int gapEnd) {
+                return -Math.abs(slotStart - preferred);
+            }
+
+            @Override
+            public double upperBound(int minute, int windowEnd) {
+                return minute >= preferred ? preferred - minute : 0;
+            }
+
+            @Override
+            public double upperBound(int slotStart, int gapStart, int gapEnd) {
+                return upperBound(slotStart, gapEnd);
+            }
+        };
+    }
+}
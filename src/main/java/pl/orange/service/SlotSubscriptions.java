@@ -0,0 +1,218 @@
+package pl.orange.service;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.model.SlotDelta;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Live group queries over member calendars. A change of one member only recomputes the free time of
+// the subscribed groups around the changed meeting and pushes the slots that appeared or disappeared
+public class SlotSubscriptions {
+
+    private final Map<String, CalendarIndex> members = new HashMap<>();
+    private final Map<String, List<Subscription>> subscriptionsByMember = new HashMap<>();
+
+    public synchronized void addMember(String memberId, Calendar calendar) {
+
+        if (memberId == null || calendar == null) {
+            throw new NullPointerException("Member can not be added with empty data");
+        }
+
+        if (members.containsKey(memberId)) {
+            throw new IllegalArgumentException("Duplicate member id [" + memberId + "]");
+        }
+
+        members.put(memberId, new CalendarIndex(calendar));
+    }
+
+    // Current slots are available from the returned subscription, later changes go to the listener
+    public synchronized Subscription subscribe(List<String> memberIds, Duration meetingDuration, SlotListener listener) {
+
+        if (memberIds == null || meetingDuration == null || listener == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        if (memberIds.isEmpty()) {
+            throw new IllegalArgumentException("Appointment needs at least one calendar");
+        }
+
+        List<CalendarIndex> indexes = new ArrayList<>(memberIds.size());
+        for (String memberId : memberIds) {
+            indexes.add(member(memberId));
+        }
+
+        long meetingMinutes = meetingDuration.toMinutes();
+        if (meetingMinutes <= 0) {
+            throw new IllegalArgumentException("Meeting has to have non zero time");
+        }
+
+        Subscription subscription = new Subscription(List.copyOf(memberIds), indexes, (int) Math.min(meetingMinutes, CompiledCalendar.MINUTES_PER_DAY + 1), listener);
+        subscription.recompute(0, CompiledCalendar.MINUTES_PER_DAY);
+        for (String memberId : memberIds) {
+            subscriptionsByMember.computeIfAbsent(memberId, id -> new ArrayList<>()).add(subscription);
+        }
+        return subscription;
+    }
+
+    public synchronized void insert(String memberId, PlannedMeeting plannedMeeting) {
+
+        CalendarIndex index = member(memberId);
+        index.insert(plannedMeeting);
+        changed(memberId, plannedMeeting.getStartAsMinutes(), plannedMeeting.getEndAsMinutes());
+    }
+
+    // False when the member had no such meeting
+    public synchronized boolean remove(String memberId, PlannedMeeting plannedMeeting) {
+
+        CalendarIndex index = member(memberId);
+        if (!index.remove(plannedMeeting)) {
+            return false;
+        }
+        changed(memberId, plannedMeeting.getStartAsMinutes(), plannedMeeting.getEndAsMinutes());
+        return true;
+    }
+
+    private void changed(String memberId, int start, int end) {
+
+        for (Subscription subscription : subscriptionsByMember.getOrDefault(memberId, List.of())) {
+            SlotDelta delta = subscription.recompute(start, end);
+            if (!delta.getAdded().isEmpty() || !delta.getRemoved().isEmpty()) {
+                subscription.listener.onChange(delta);
+            }
+        }
+    }
+
+    private CalendarIndex member(String memberId) {
+
+        CalendarIndex index = members.get(memberId);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown member id [" + memberId + "]");
+        }
+        return index;
+    }
+
+    public final class Subscription {
+
+        private final List<String> memberIds;
+        private final List<CalendarIndex> indexes;
+        private final int meetingMinutes;
+        private final SlotListener listener;
+        // Every maximal common free interval, also the ones shorter than the meeting, start -> end
+        private final TreeMap<Integer, Integer> free = new TreeMap<>();
+
+        private Subscription(List<String> memberIds, List<CalendarIndex> indexes, int meetingMinutes, SlotListener listener) {
+            this.memberIds = memberIds;
+            this.indexes = indexes;
+            this.meetingMinutes = meetingMinutes;
+            this.listener = listener;
+        }
+
+        public List<String[]> getSlots() {
+
+            synchronized (SlotSubscriptions.this) {
+                List<String[]> slots = new ArrayList<>();
+                for (Map.Entry<Integer, Integer> interval : free.entrySet()) {
+                    if (interval.getValue() - interval.getKey() >= meetingMinutes) {
+                        slots.add(slot(interval.getKey(), interval.getValue()));
+                    }
+                }
+                return slots;
+            }
+        }
+
+        public void cancel() {
+
+            synchronized (SlotSubscriptions.this) {
+                for (String memberId : memberIds) {
+                    List<Subscription> subscriptions = subscriptionsByMember.get(memberId);
+                    subscriptions.remove(this);
+                    if (subscriptions.isEmpty()) {
+                        subscriptionsByMember.remove(memberId);
+                    }
+                }
+            }
+        }
+
+        // Stored free intervals touching [start, end) are part of the window, so its edges are busy
+        // both before and after the change and nothing outside of it can differ
+        private SlotDelta recompute(int start, int end) {
+
+            Map.Entry<Integer, Integer> left = free.floorEntry(start);
+            if (left != null && left.getValue() >= start) {
+                start = left.getKey();
+            }
+            Map.Entry<Integer, Integer> right = free.floorEntry(end);
+            if (right != null && right.getValue() > end) {
+                end = right.getValue();
+            }
+
+            NavigableMap<Integer, Integer> before = free.subMap(start, true, end, false);
+            List<String[]> removed = new ArrayList<>();
+            Map<Integer, Integer> old = new HashMap<>(before);
+            before.clear();
+
+            GapBuffer common = commonFree(start, end);
+            List<String[]> added = new ArrayList<>();
+            for (int i = 0; i < common.size(); i++) {
+                int from = common.getStartMinute(i);
+                int to = common.getEndMinute(i);
+                free.put(from, to);
+                Integer previous = old.remove(from);
+                if ((previous == null || previous != to) && to - from >= meetingMinutes) {
+                    added.add(slot(from, to));
+                }
+                if (previous != null && previous != to && previous - from >= meetingMinutes) {
+                    removed.add(slot(from, previous));
+                }
+            }
+            for (Map.Entry<Integer, Integer> interval : old.entrySet()) {
+                if (interval.getValue() - interval.getKey() >= meetingMinutes) {
+                    removed.add(slot(interval.getKey(), interval.getValue()));
+                }
+            }
+            removed.sort((a, b) -> a[0].compareTo(b[0]));
+            return new SlotDelta(added, removed);
+        }
+
+        // Intersection of the members' free time within [start, end)
+        private GapBuffer commonFree(int start, int end) {
+
+            GapBuffer common = new GapBuffer();
+            indexes.get(0).findFreeSlots(start, end, 1, common);
+            for (int m = 1; m < indexes.size() && common.size() > 0; m++) {
+                GapBuffer member = new GapBuffer();
+                indexes.get(m).findFreeSlots(start, end, 1, member);
+                GapBuffer both = new GapBuffer();
+                int i = 0;
+                int j = 0;
+                while (i < common.size() && j < member.size()) {
+                    int from = Math.max(common.getStartMinute(i), member.getStartMinute(j));
+                    int to = Math.min(common.getEndMinute(i), member.getEndMinute(j));
+                    if (from < to) {
+                        both.accept(from, to);
+                    }
+                    if (common.getEndMinute(i) < member.getEndMinute(j)) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+                common = both;
+            }
+            return common;
+        }
+
+        private String[] slot(int start, int end) {
+            return new String[]{ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(end)};
+        }
+    }
+}
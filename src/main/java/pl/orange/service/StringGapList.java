@@ -0,0 +1,30 @@
+package pl.orange.service;
+
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Adapter from the primitive sink to the List<String[]> answer of findMeeting
+final class StringGapList implements GapSink {
+
+    private final List<String[]> gaps = new ArrayList<>();
+
+    @Override
+    public void accept(int startMinute, int endMinute) {
+        gaps.add(new String[]{ScheduleUtils.formatMinutes(startMinute), ScheduleUtils.formatMinutes(endMinute)});
+    }
+
+    List<String[]> getGaps() {
+        return gaps;
+    }
+
+    static List<String[]> of(int[] minutes) {
+
+        StringGapList list = new StringGapList();
+        for (int i = 0; i < minutes.length; i += 2) {
+            list.accept(minutes[i], minutes[i + 1]);
+        }
+        return list.getGaps();
+    }
+}
@@ -0,0 +1,145 @@
+package pl.orange.service;
+
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Bounded min-heap of the k best slots, done once nothing later in the day can beat the worst kept slot
+final class TopSlots implements GapSink {
+
+    private final SlotRanking ranking;
+    private final int meetingMinutes;
+    private final int step;
+    private final int windowEnd;
+
+    private final double[] scores;
+    private final int[] starts;
+    private final int[] ends;
+    private int size;
+    private boolean done;
+
+    // step 0 keeps whole gaps as candidates, otherwise gaps are split into meetingMinutes long slots every step minutes
+    TopSlots(SlotRanking ranking, int k, int meetingMinutes, int step, int windowEnd) {
+        this.ranking = ranking;
+        this.meetingMinutes = meetingMinutes;
+        this.step = step;
+        this.windowEnd = windowEnd;
+        this.scores = new double[k];
+        this.starts = new int[k];
+        this.ends = new int[k];
+    }
+
+    @Override
+    public void accept(int gapStart, int gapEnd) {
+
+        if (step == 0) {
+            offer(ranking.score(gapStart, gapStart, gapEnd), gapStart, gapEnd);
+        } else {
+            for (int slotStart = gapStart; slotStart + meetingMinutes <= gapEnd; slotStart += step) {
+                // A full heap keeps only better slots, so the rest of a long gap is skipped once none can be
+                if (size == scores.length && ranking.upperBound(slotStart, gapStart, gapEnd) <= scores[0]) {
+                    break;
+                }
+                offer(ranking.score(slotStart, gapStart, gapEnd), slotStart, slotStart + meetingMinutes);
+            }
+        }
+
+        // The next gap starts after this one ends
+        done = cannotImprove(gapEnd);
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    // Best first, ties keep the earlier slot, empties the heap
+    List<String[]> drain() {
+
+        String[][] ranked = new String[size][];
+        while (size > 0) {
+            ranked[size - 1] = new String[]{ScheduleUtils.formatMinutes(starts[0]), ScheduleUtils.formatMinutes(ends[0])};
+            removeWorst();
+        }
+        return Arrays.asList(ranked);
+    }
+
+    private boolean cannotImprove(int minute) {
+        return size == scores.length && ranking.upperBound(minute, windowEnd) <= scores[0];
+    }
+
+    private void offer(double score, int start, int end) {
+
+        if (size < scores.length) {
+            scores[size] = score;
+            starts[size] = start;
+            ends[size] = end;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            scores[0] = score;
+            starts[0] = start;
+            ends[0] = end;
+            siftDown(0);
+        }
+    }
+
+    private void removeWorst() {
+
+        size--;
+        move(size, 0);
+        siftDown(0);
+    }
+
+    // Worse means lower score, or the same score and a later start
+    private boolean worse(int a, int b) {
+        return scores[a] < scores[b] || scores[a] == scores[b] && starts[a] > starts[b];
+    }
+
+    private void siftUp(int index) {
+
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && worse(child + 1, child)) {
+                child++;
+            }
+            if (!worse(child, index)) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+
+        double score = scores[a];
+        int start = starts[a];
+        int end = ends[a];
+        move(b, a);
+        scores[b] = score;
+        starts[b] = start;
+        ends[b] = end;
+    }
+
+    private void move(int from, int to) {
+        scores[to] = scores[from];
+        starts[to] = starts[from];
+        ends[to] = ends[from];
+    }
+}
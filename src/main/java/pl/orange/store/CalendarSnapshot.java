@@ -0,0 +1,79 @@
+package pl.orange.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Binary file of a CalendarStore: a 16 byte little endian header (int magic, int version, long payload length)
+// followed by the store layout as is, so loading only maps the file and lookups read the mapped pages
+public final class CalendarSnapshot {
+
+    // "OCAL" as the first four bytes of the file
+    static final int MAGIC = 0x4C41434F;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private CalendarSnapshot() {
+    }
+
+    // Writes next to the target and moves it in place, a reader never sees half a snapshot
+    public static void write(CalendarStore store, Path path) throws IOException {
+
+        if (store == null || path == null) {
+            throw new NullPointerException("Snapshot can not be written with empty data");
+        }
+
+        ByteBuffer payload = store.getData();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(payload.remaining()).flip();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining() || payload.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, payload});
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // The mapping stays valid after the file is closed. Nothing is parsed or copied, only the meeting offsets and
+    // the index are checked to point inside their columns
+    public static CalendarStore load(Path path) throws IOException {
+
+        if (path == null) {
+            throw new NullPointerException("Snapshot path is null");
+        }
+
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Given file is not a calendar snapshot");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer data = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Given file is not a calendar snapshot");
+        }
+
+        int version = data.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported calendar snapshot version [" + version + "]");
+        }
+
+        if (data.getLong(8) != data.capacity() - HEADER_BYTES) {
+            throw new IllegalArgumentException("Calendar snapshot is truncated");
+        }
+
+        return CalendarStore.wrap(data.position(HEADER_BYTES));
+    }
+}
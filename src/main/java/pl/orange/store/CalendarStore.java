@@ -0,0 +1,301 @@
+package pl.orange.store;
+
+import pl.orange.model.CalendarView;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Calendars of many users packed into one off-heap buffer of little endian columns, 4 bytes per meeting:
+// int userCount, int meetingCount, int[userCount] userIds (ascending), int[userCount + 1] meetingOffsets,
+// short[userCount] startsOfWork, endsOfWork, granularities, short[meetingCount] meetingStarts, meetingEnds,
+// int[indexCapacity(userCount)] open addressing index from user id to its position + 1, 0 for an empty slot
+public final class CalendarStore {
+
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final ByteBuffer data;
+    private final int userCount;
+    private final int meetingCount;
+    private final int meetingOffsetsAt;
+    private final int startsOfWorkAt;
+    private final int endsOfWorkAt;
+    private final int granularitiesAt;
+    private final int meetingStartsAt;
+    private final int meetingEndsAt;
+    private final int indexAt;
+    private final int indexMask;
+
+    private CalendarStore(ByteBuffer data) {
+
+        this.data = data;
+        this.userCount = data.getInt(0);
+        this.meetingCount = data.getInt(Integer.BYTES);
+        if (userCount < 0 || meetingCount < 0) {
+            throw new IllegalArgumentException("Calendar store data is corrupted");
+        }
+
+        // Counts come from the data, so the layout is computed in long and has to fit the buffer before it is used
+        long meetingOffsetsAt = HEADER_BYTES + (long) userCount * Integer.BYTES;
+        long startsOfWorkAt = meetingOffsetsAt + (userCount + 1L) * Integer.BYTES;
+        long endsOfWorkAt = startsOfWorkAt + (long) userCount * Short.BYTES;
+        long granularitiesAt = endsOfWorkAt + (long) userCount * Short.BYTES;
+        long meetingStartsAt = granularitiesAt + (long) userCount * Short.BYTES;
+        long meetingEndsAt = meetingStartsAt + (long) meetingCount * Short.BYTES;
+        long indexAt = meetingEndsAt + (long) meetingCount * Short.BYTES;
+        if (indexAt > data.limit() || indexAt + (long) indexCapacity(userCount) * Integer.BYTES != data.limit()) {
+            throw new IllegalArgumentException("Calendar store data is corrupted");
+        }
+
+        this.meetingOffsetsAt = (int) meetingOffsetsAt;
+        this.startsOfWorkAt = (int) startsOfWorkAt;
+        this.endsOfWorkAt = (int) endsOfWorkAt;
+        this.granularitiesAt = (int) granularitiesAt;
+        this.meetingStartsAt = (int) meetingStartsAt;
+        this.meetingEndsAt = (int) meetingEndsAt;
+        this.indexAt = (int) indexAt;
+        this.indexMask = indexCapacity(userCount) - 1;
+
+        // Offsets and index entries are read without further checks, so each has to point inside its column
+        int previous = 0;
+        for (int user = 0; user <= userCount; user++) {
+            int offset = data.getInt(this.meetingOffsetsAt + user * Integer.BYTES);
+            if (offset < previous || (user == 0 && offset != 0) || (user == userCount && offset != meetingCount)) {
+                throw new IllegalArgumentException("Calendar store data is corrupted");
+            }
+            previous = offset;
+        }
+        for (int slot = 0; slot <= indexMask; slot++) {
+            int position = data.getInt(this.indexAt + slot * Integer.BYTES);
+            if (position < 0 || position > userCount) {
+                throw new IllegalArgumentException("Calendar store data is corrupted");
+            }
+        }
+    }
+
+    // At most half full, so a lookup is one or two probes instead of a binary search over cold memory
+    static int indexCapacity(int userCount) {
+        return Integer.highestOneBit(Math.max(1, userCount) * 2 - 1) << 1;
+    }
+
+    private static int slot(int userId, int mask) {
+        return (userId * 0x9E3779B9 >>> 7) & mask;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Uses the remaining bytes in place, nothing is copied
+    public static CalendarStore wrap(ByteBuffer data) {
+
+        if (data == null) {
+            throw new NullPointerException("Calendar store data is null");
+        }
+
+        if (data.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Calendar store data is corrupted");
+        }
+
+        return new CalendarStore(data.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getMeetingCount() {
+        return meetingCount;
+    }
+
+    public int getSizeInBytes() {
+        return data.limit();
+    }
+
+    // Read only view of the whole layout, positioned at 0
+    public ByteBuffer getData() {
+        return data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public boolean contains(int userId) {
+        return indexOf(userId) >= 0;
+    }
+
+    // Flyweight reading straight from the buffer, null for an unknown user
+    public CalendarView get(int userId) {
+
+        int index = indexOf(userId);
+        return index < 0 ? null : new StoredCalendar(index);
+    }
+
+    // Gives up after one round of the table, a full one from damaged data would otherwise loop forever
+    private int indexOf(int userId) {
+
+        int slot = slot(userId, indexMask);
+        for (int probes = 0; probes <= indexMask; probes++) {
+            int position = data.getInt(indexAt + slot * Integer.BYTES) - 1;
+            if (position < 0 || data.getInt(HEADER_BYTES + position * Integer.BYTES) == userId) {
+                return position;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    private final class StoredCalendar implements CalendarView {
+
+        private final int user;
+        private final int count;
+        private final int startsAt;
+        private final int endsAt;
+
+        private StoredCalendar(int user) {
+            int firstMeeting = data.getInt(meetingOffsetsAt + user * Integer.BYTES);
+            this.user = user;
+            this.count = data.getInt(meetingOffsetsAt + (user + 1) * Integer.BYTES) - firstMeeting;
+            this.startsAt = meetingStartsAt + firstMeeting * Short.BYTES;
+            this.endsAt = meetingEndsAt + firstMeeting * Short.BYTES;
+        }
+
+        @Override
+        public int getStartOfWork() {
+            return data.getShort(startsOfWorkAt + user * Short.BYTES);
+        }
+
+        @Override
+        public int getEndOfWork() {
+            return data.getShort(endsOfWorkAt + user * Short.BYTES);
+        }
+
+        @Override
+        public int getGranularity() {
+            return data.getShort(granularitiesAt + user * Short.BYTES);
+        }
+
+        @Override
+        public int getMeetingCount() {
+            return count;
+        }
+
+        @Override
+        public int getMeetingStart(int index) {
+            return data.getShort(startsAt + index * Short.BYTES);
+        }
+
+        @Override
+        public int getMeetingEnd(int index) {
+            return data.getShort(endsAt + index * Short.BYTES);
+        }
+    }
+
+    // Collects calendars on the heap in compact arrays, build moves them off-heap sorted by user id
+    public static final class Builder {
+
+        private int[] userIds = new int[64];
+        private short[] times = new short[3 * 64];
+        private int[] meetingOffsets = new int[65];
+        private short[] meetingTimes = new short[2 * 256];
+        private int userCount;
+        private int meetingCount;
+
+        private Builder() {
+        }
+
+        // The calendar has to be canonical, like every CompiledCalendar
+        public Builder add(int userId, CalendarView calendar) {
+
+            if (calendar == null) {
+                throw new NullPointerException("Given calendar is null");
+            }
+
+            if (userCount == userIds.length) {
+                userIds = Arrays.copyOf(userIds, userCount * 2);
+                times = Arrays.copyOf(times, userCount * 2 * 3);
+                meetingOffsets = Arrays.copyOf(meetingOffsets, userCount * 2 + 1);
+            }
+            int meetings = calendar.getMeetingCount();
+            if (2 * (meetingCount + meetings) > meetingTimes.length) {
+                meetingTimes = Arrays.copyOf(meetingTimes, Math.max(meetingTimes.length * 2, 2 * (meetingCount + meetings)));
+            }
+
+            userIds[userCount] = userId;
+            times[3 * userCount] = (short) calendar.getStartOfWork();
+            times[3 * userCount + 1] = (short) calendar.getEndOfWork();
+            times[3 * userCount + 2] = (short) calendar.getGranularity();
+            meetingOffsets[userCount] = meetingCount;
+            for (int i = 0; i < meetings; i++) {
+                meetingTimes[2 * meetingCount] = (short) calendar.getMeetingStart(i);
+                meetingTimes[2 * meetingCount + 1] = (short) calendar.getMeetingEnd(i);
+                meetingCount++;
+            }
+            userCount++;
+            meetingOffsets[userCount] = meetingCount;
+            return this;
+        }
+
+        public CalendarStore build() {
+
+            // User id in the high half keeps the signed order, the insertion index rides along in the low half
+            long[] order = new long[userCount];
+            for (int i = 0; i < userCount; i++) {
+                order[i] = (long) userIds[i] << 32 | i;
+            }
+            Arrays.sort(order);
+
+            int capacity = indexCapacity(userCount);
+            long size = HEADER_BYTES + (2L * userCount + 1) * Integer.BYTES + 3L * userCount * Short.BYTES
+                    + 2L * meetingCount * Short.BYTES + (long) capacity * Integer.BYTES;
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Calendar store can not exceed 2 GB");
+            }
+            ByteBuffer data = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+
+            data.putInt(userCount).putInt(meetingCount);
+            for (int i = 0; i < userCount; i++) {
+                int userId = (int) (order[i] >> 32);
+                if (i > 0 && userId == (int) (order[i - 1] >> 32)) {
+                    throw new IllegalArgumentException("Duplicate user id [" + userId + "]");
+                }
+                data.putInt(userId);
+            }
+
+            int offset = 0;
+            for (int i = 0; i < userCount; i++) {
+                data.putInt(offset);
+                int user = (int) order[i];
+                offset += meetingOffsets[user + 1] - meetingOffsets[user];
+            }
+            data.putInt(offset);
+
+            for (int column = 0; column < 3; column++) {
+                for (int i = 0; i < userCount; i++) {
+                    data.putShort(times[3 * (int) order[i] + column]);
+                }
+            }
+
+            for (int column = 0; column < 2; column++) {
+                for (int i = 0; i < userCount; i++) {
+                    int user = (int) order[i];
+                    for (int m = meetingOffsets[user]; m < meetingOffsets[user + 1]; m++) {
+                        data.putShort(meetingTimes[2 * m + column]);
+                    }
+                }
+            }
+
+            int[] index = new int[capacity];
+            for (int i = 0; i < userCount; i++) {
+                int slot = slot((int) (order[i] >> 32), capacity - 1);
+                while (index[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                index[slot] = i + 1;
+            }
+            for (int position : index) {
+                data.putInt(position);
+            }
+
+            data.flip();
+            return wrap(data);
+        }
+    }
+}
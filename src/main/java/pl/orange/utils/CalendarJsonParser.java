@@ -0,0 +1,241 @@
+package pl.orange.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import pl.orange.metrics.ScheduleMetrics;
+import pl.orange.model.CalendarData;
+import pl.orange.model.CompiledCalendar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Token streaming reader of calendar JSON straight into CompiledCalendar, no JsonNode tree or POJOs in between
+public final class CalendarJsonParser {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final int MISSING = -1;
+
+    private int startOfWork = MISSING;
+    private int endOfWork = MISSING;
+    private boolean hasWorkingHours;
+    private boolean hasPlannedMeetings;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int count;
+
+    private CalendarJsonParser() {
+    }
+
+    public static CompiledCalendar parse(String jsonString) throws IOException {
+
+        if (jsonString == null) {
+            throw new NullPointerException("Given string should not be null");
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(jsonString)) {
+            return new CalendarJsonParser().readDocument(parser);
+        }
+    }
+
+    public static CompiledCalendar parse(byte[] json) throws IOException {
+
+        if (json == null) {
+            throw new NullPointerException("Given bytes should not be null");
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return new CalendarJsonParser().readDocument(parser);
+        }
+    }
+
+    // Does not close the stream
+    public static CompiledCalendar parse(InputStream json) throws IOException {
+
+        if (json == null) {
+            throw new NullPointerException("Given stream should not be null");
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return new CalendarJsonParser().readDocument(parser);
+        }
+    }
+
+    // Reads one calendar object starting at the current or next token, leaves the parser on its END_OBJECT
+    public static CompiledCalendar read(JsonParser parser) throws IOException {
+
+        long start = ScheduleMetrics.start(ScheduleMetrics.PARSE_COUNT);
+        try {
+            return new CalendarJsonParser().readCalendar(parser);
+        } finally {
+            ScheduleMetrics.stop(ScheduleMetrics.PARSE_LATENCY, start);
+        }
+    }
+
+    private CompiledCalendar readCalendar(JsonParser parser) throws IOException {
+
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Given argument is not valid Calendar JSON");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+
+            if ("working_hours".equals(field)) {
+                readWorkingHours(parser, value);
+            } else if ("planned_meeting".equals(field)) {
+                readPlannedMeetings(parser, value);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return validated();
+    }
+
+    private CompiledCalendar readDocument(JsonParser parser) throws IOException {
+
+        long start = ScheduleMetrics.start(ScheduleMetrics.PARSE_COUNT);
+        try {
+            CompiledCalendar calendar = readCalendar(parser);
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Given argument is not valid Calendar JSON");
+            }
+            return calendar;
+        } finally {
+            ScheduleMetrics.stop(ScheduleMetrics.PARSE_LATENCY, start);
+        }
+    }
+
+    private void readWorkingHours(JsonParser parser, JsonToken value) throws IOException {
+
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (value != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Given argument is not valid Calendar JSON");
+        }
+
+        hasWorkingHours = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            if ("start".equals(field)) {
+                startOfWork = readTime(parser, "Start");
+            } else if ("end".equals(field)) {
+                endOfWork = readTime(parser, "End");
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readPlannedMeetings(JsonParser parser, JsonToken value) throws IOException {
+
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (value != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Given argument is not valid Calendar JSON");
+        }
+
+        hasPlannedMeetings = true;
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element == JsonToken.VALUE_NULL) {
+                throw new NullPointerException("Empty planned_meeting data element");
+            }
+            if (element != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Given argument is not valid Calendar JSON");
+            }
+
+            int start = MISSING;
+            int end = MISSING;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("start".equals(field)) {
+                    start = readTime(parser, "Start");
+                } else if ("end".equals(field)) {
+                    end = readTime(parser, "End");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (start == MISSING) {
+                throw new NullPointerException("Start time is empty");
+            }
+            if (end == MISSING) {
+                throw new NullPointerException("End time is empty");
+            }
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+    }
+
+    private static int readTime(JsonParser parser, String name) throws IOException {
+
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            throw new NullPointerException(name + " time is empty");
+        }
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException(name + " time [" + parser.getText() + "] is not in required format [HH:MM]");
+        }
+
+        int minutes = CalendarData.toMinuteOfDay(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (minutes < 0) {
+            throw new IllegalArgumentException(name + " time [" + parser.getText() + "] is not in required format [HH:MM]");
+        }
+        return minutes;
+    }
+
+    // Same checks and messages as ScheduleUtils.validCalendarData
+    private CompiledCalendar validated() {
+
+        if (!hasWorkingHours) {
+            throw new NullPointerException("Null working_hours");
+        }
+
+        if (!hasPlannedMeetings) {
+            throw new NullPointerException("Null planned_meetings");
+        }
+
+        if (startOfWork == MISSING || endOfWork == MISSING) {
+            throw new IllegalArgumentException("Invalid working_hours, it has to contain start and end data");
+        }
+
+        if (endOfWork <= startOfWork) {
+            throw new IllegalArgumentException("Invalid working_hours data, duration between start and end must be positive." +
+                    "\n start: " + ScheduleUtils.formatMinutes(startOfWork) + ", end: " + ScheduleUtils.formatMinutes(endOfWork));
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (ends[i] <= starts[i]) {
+                throw new IllegalArgumentException("Invalid planned_meeting data element, duration between start and end must be positive." +
+                        "\n start: " + ScheduleUtils.formatMinutes(starts[i]) + ", end: " + ScheduleUtils.formatMinutes(ends[i]));
+            }
+
+            if (starts[i] < startOfWork || ends[i] > endOfWork) {
+                throw new IllegalArgumentException("Invalid planned_meeting data element, meeting should be in working hours." +
+                        "\n start of work: " + ScheduleUtils.formatMinutes(startOfWork) + ", end of work: " + ScheduleUtils.formatMinutes(endOfWork) +
+                        "\n start of meeting: " + ScheduleUtils.formatMinutes(starts[i]) + ", end of meeting: " + ScheduleUtils.formatMinutes(ends[i]));
+            }
+        }
+
+        return CompiledCalendar.of(startOfWork, endOfWork, starts, ends, count);
+    }
+}
@@ -1,13 +1,25 @@
 package pl.orange.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
-import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.orange.metrics.ScheduleMetrics;
 import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
 import pl.orange.model.PlannedMeeting;
+import pl.orange.model.RecurringMeeting;
 import pl.orange.model.WorkingHours;
+import pl.orange.model.ZonedCalendar;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 
 public class ScheduleUtils {
@@ -20,6 +32,7 @@ public class ScheduleUtils {
             throw new NullPointerException("Given string should not be null");
         }
 
+        long start = ScheduleMetrics.start(ScheduleMetrics.PARSE_COUNT);
         try {
             Calendar calendar = new Calendar();
             JsonNode rootNode = objectMapper.readTree(jsonString);
@@ -31,47 +44,230 @@ public class ScheduleUtils {
             return calendar;
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Given argument is not valid Calendar JSON");
+        } finally {
+            ScheduleMetrics.stop(ScheduleMetrics.PARSE_LATENCY, start);
         }
     }
 
+    public static CompiledCalendar parseJsonToCompiledCalendar(String jsonString) throws IOException {
+        return CalendarJsonParser.parse(jsonString);
+    }
+
+    public static CompiledCalendar parseJsonToCompiledCalendar(byte[] json) throws IOException {
+        return CalendarJsonParser.parse(json);
+    }
+
+    public static CompiledCalendar parseJsonToCompiledCalendar(InputStream json) throws IOException {
+        return CalendarJsonParser.parse(json);
+    }
+
+    // Validates and normalizes in one pass, the result can be searched again without any checks
+    public static CompiledCalendar compileCalendar(Calendar calendar) {
+
+        long start = ScheduleMetrics.start(ScheduleMetrics.VALIDATION_COUNT);
+        try {
+            return compile(calendar, true);
+        } finally {
+            ScheduleMetrics.stop(ScheduleMetrics.VALIDATION_LATENCY, start);
+        }
+    }
+
+    // Same as compileCalendar, but every time is moved from the calendar zone on the given date to the ZoneAxis,
+    // so calendars of different zones can be searched together and the result converted back with ZoneAxis
+    public static CompiledCalendar compileCalendar(ZonedCalendar calendar, LocalDate date) {
+
+        if (calendar == null || date == null) {
+            throw new NullPointerException("Given calendar is null");
+        }
+
+        ZoneId zone = calendar.getZone();
+        if (zone == null) {
+            throw new NullPointerException("Null zone");
+        }
+
+        CompiledCalendar local = compileCalendar(calendar);
+        int count = local.getMeetingCount();
+        int[] minutes = new int[count * 2 + 2];
+        for (int i = 0; i < count; i++) {
+            minutes[i] = local.getMeetingStart(i);
+            minutes[count + i] = local.getMeetingEnd(i);
+        }
+        minutes[count * 2] = local.getStartOfWork();
+        minutes[count * 2 + 1] = local.getEndOfWork();
+        ZoneAxis.toAxisMinutes(zone, date, minutes, minutes.length);
+
+        // The mapping keeps the order, so the meetings stay sorted
+        return CompiledCalendar.of(minutes[count * 2], minutes[count * 2 + 1], minutes, Arrays.copyOfRange(minutes, count, count * 2), count);
+    }
+
+    // Meeting duration in minutes, time format: [HH:MM]
+    public static long parseMeetingDuration(String timeString) {
+
+        if (timeString == null) {
+            throw new NullPointerException("Meeting duration is empty");
+        }
+
+        long meetingMinutes;
+        try {
+            if (timeString.length() < 2) {
+                throw new IllegalArgumentException("Bad time format, use [HH:MM]");
+            }
+            LocalTime meetingLocalTime = LocalTime.parse(timeString.substring(1, timeString.length() - 1));
+            meetingMinutes = meetingLocalTime.getHour() * 60 + meetingLocalTime.getMinute();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Bad time format, use [HH:MM]");
+        }
+
+        if (meetingMinutes == 0) {
+            throw new IllegalArgumentException("Meeting has to have non zero time");
+        }
+
+        return meetingMinutes;
+    }
+
+    // HH:MM string of a minute of day
+    public static String formatMinutes(int minuteOfDay) {
+
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return new String(new char[]{
+                (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':', (char) ('0' + minute / 10), (char) ('0' + minute % 10)});
+    }
+
     public static void validCalendarData(Calendar calendar) {
 
+        long start = ScheduleMetrics.start(ScheduleMetrics.VALIDATION_COUNT);
+        try {
+            compile(calendar, false);
+        } finally {
+            ScheduleMetrics.stop(ScheduleMetrics.VALIDATION_LATENCY, start);
+        }
+    }
+
+    // Every time is parsed once, meetings are only collected when a compiled calendar is wanted
+    private static CompiledCalendar compile(Calendar calendar, boolean compiled) {
+
         if (calendar == null) {
             throw new NullPointerException("Given calendar is null");
         }
 
-        if (calendar.getWorkingHours() == null) {
+        WorkingHours workingHours = calendar.getWorkingHours();
+        if (workingHours == null) {
             throw new NullPointerException("Null working_hours");
         }
 
-        if (calendar.getPlannedMeetings() == null) {
+        List<PlannedMeeting> plannedMeetings = calendar.getPlannedMeetings();
+        if (plannedMeetings == null) {
             throw new NullPointerException("Null planned_meetings");
         }
 
-        if (calendar.getWorkingHours().getStart() == null || calendar.getWorkingHours().getEnd() == null) {
+        if (workingHours.getStart() == null || workingHours.getEnd() == null) {
             throw new IllegalArgumentException("Invalid working_hours, it has to contain start and end data");
         }
 
-        if (calendar.getWorkingHours().getEndAsTime().compareTo(calendar.getWorkingHours().getStartAsTime()) <= 0) {
+        int endOfWork = workingHours.getEndAsMinutes();
+        int startOfWork = workingHours.getStartAsMinutes();
+        if (endOfWork <= startOfWork) {
             throw new IllegalArgumentException("Invalid working_hours data, duration between start and end must be positive." +
-                    "\n start: " + calendar.getWorkingHours().getStart() + ", end: " + calendar.getWorkingHours().getEnd());
+                    "\n start: " + workingHours.getStart() + ", end: " + workingHours.getEnd());
         }
 
-        for (PlannedMeeting p : calendar.getPlannedMeetings()) {
+        int[] starts = compiled ? new int[plannedMeetings.size()] : null;
+        int[] ends = compiled ? new int[plannedMeetings.size()] : null;
+        int count = 0;
+        for (PlannedMeeting p : plannedMeetings) {
             if (p == null) {
                 throw new NullPointerException("Empty planned_meeting data element");
             }
 
-            if (p.getEndAsTime().compareTo(p.getStartAsTime()) <= 0) {
+            int end = p.getEndAsMinutes();
+            int start = p.getStartAsMinutes();
+            if (end <= start) {
                 throw new IllegalArgumentException("Invalid planned_meeting data element, duration between start and end must be positive." +
                         "\n start: " + p.getStart() + ", end: " + p.getEnd());
             }
 
-            if (p.getStartAsTime().compareTo(calendar.getWorkingHours().getStartAsTime()) < 0 || p.getEndAsTime().compareTo(calendar.getWorkingHours().getEndAsTime()) > 0) {
+            if (start < startOfWork || end > endOfWork) {
                 throw new IllegalArgumentException("Invalid planned_meeting data element, meeting should be in working hours." +
-                        "\n start of work: " + calendar.getWorkingHours().getStart() + ", end of work: " + calendar.getWorkingHours().getEnd() +
+                        "\n start of work: " + workingHours.getStart() + ", end of work: " + workingHours.getEnd() +
                         "\n start of meeting: " + p.getStart() + ", end of meeting: " + p.getEnd());
             }
+
+            if (compiled) {
+                starts[count] = start;
+                ends[count] = end;
+                count++;
+            }
+        }
+
+        return compiled ? CompiledCalendar.of(startOfWork, endOfWork, starts, ends, count) : null;
+    }
+
+    public static void validDatedCalendarData(DatedCalendar calendar) {
+
+        if (calendar == null) {
+            throw new NullPointerException("Given calendar is null");
+        }
+
+        if (calendar.getWeeklyWorkingHours() == null || calendar.getWorkingHoursOnDate() == null) {
+            throw new NullPointerException("Null working_hours");
+        }
+
+        if (calendar.getPlannedMeetings() == null) {
+            throw new NullPointerException("Null planned_meetings");
+        }
+
+        calendar.getWeeklyWorkingHours().values().forEach(ScheduleUtils::validWorkingHours);
+        calendar.getWorkingHoursOnDate().values().forEach(workingHours -> {
+            if (workingHours != null) {
+                validWorkingHours(workingHours);
+            }
+        });
+
+        for (DatedMeeting p : calendar.getPlannedMeetings()) {
+            if (p == null || p.getStart() == null || p.getEnd() == null) {
+                throw new NullPointerException("Empty planned_meeting data element");
+            }
+
+            if (!p.getEnd().isAfter(p.getStart())) {
+                throw new IllegalArgumentException("Invalid planned_meeting data element, duration between start and end must be positive." +
+                        "\n start: " + p.getStart() + ", end: " + p.getEnd());
+            }
+        }
+
+        if (calendar.getRecurringMeetings() == null) {
+            throw new NullPointerException("Null recurring_meetings");
+        }
+
+        for (RecurringMeeting r : calendar.getRecurringMeetings()) {
+            if (r == null || r.getFrequency() == null || r.getFirstDate() == null || r.getDaysOfWeek() == null || r.getExceptions() == null) {
+                throw new NullPointerException("Empty recurring_meeting data element");
+            }
+
+            if (r.getEndAsMinutes() <= r.getStartAsMinutes()) {
+                throw new IllegalArgumentException("Invalid recurring_meeting data element, duration between start and end must be positive." +
+                        "\n start: " + r.getStart() + ", end: " + r.getEnd());
+            }
+
+            if (r.getInterval() <= 0 || r.getLastDate() != null && r.getLastDate().isBefore(r.getFirstDate())) {
+                throw new IllegalArgumentException("Invalid recurring_meeting data element, interval has to be positive and last date can not be before first date");
+            }
+        }
+    }
+
+    private static void validWorkingHours(WorkingHours workingHours) {
+
+        if (workingHours == null) {
+            throw new NullPointerException("Null working_hours");
+        }
+
+        if (workingHours.getStart() == null || workingHours.getEnd() == null) {
+            throw new IllegalArgumentException("Invalid working_hours, it has to contain start and end data");
+        }
+
+        if (workingHours.getEndAsMinutes() <= workingHours.getStartAsMinutes()) {
+            throw new IllegalArgumentException("Invalid working_hours data, duration between start and end must be positive." +
+                    "\n start: " + workingHours.getStart() + ", end: " + workingHours.getEnd());
         }
     }
 }
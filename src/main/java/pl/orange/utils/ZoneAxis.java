@@ -0,0 +1,124 @@
+package pl.orange.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared minute axis for calendars of one date in different zones. Minute 0 is UTC midnight of the day before,
+// so local times of every offset between -18:00 and +18:00 land on positive minutes below 4000
+public final class ZoneAxis {
+
+    public static final int ORIGIN_MINUTES = 24 * 60;
+
+    // Recently used days of each region zone in a slot picked by the epoch day, so memory stays bounded however many
+    // dates get queried. A race only costs computing a day twice. Fixed offsets need no table
+    private static final int DAYS_PER_ZONE = 256;
+    private static final Map<ZoneId, Day[]> DAYS = new ConcurrentHashMap<>();
+
+    private ZoneAxis() {
+    }
+
+    // Local times skipped by a DST gap map to the moment of the transition, so the mapping never goes back
+    public static int toAxisMinute(ZoneId zone, LocalDate date, int localMinute) {
+        return day(zone, date).toAxisMinute(localMinute);
+    }
+
+    // Maps the first count local minutes in place with a single table lookup
+    public static void toAxisMinutes(ZoneId zone, LocalDate date, int[] minutes, int count) {
+
+        Day day = day(zone, date);
+        for (int i = 0; i < count; i++) {
+            minutes[i] = day.toAxisMinute(minutes[i]);
+        }
+    }
+
+    private static Day day(ZoneId zone, LocalDate date) {
+
+        ZoneRules rules = zone.getRules();
+        long epochDay = date.toEpochDay();
+        if (rules.isFixedOffset()) {
+            return Day.unchanged(epochDay, rules.getOffset(Instant.EPOCH));
+        }
+
+        Day[] days = DAYS.computeIfAbsent(zone, z -> new Day[DAYS_PER_ZONE]);
+        int slot = (int) (epochDay & (DAYS_PER_ZONE - 1));
+        Day day = days[slot];
+        if (day == null || day.epochDay != epochDay) {
+            day = Day.of(rules, date);
+            days[slot] = day;
+        }
+        return day;
+    }
+
+    public static Instant toInstant(LocalDate date, int axisMinute) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC).plusSeconds(60L * (axisMinute - ORIGIN_MINUTES));
+    }
+
+    private static final class Day {
+
+        // Local minutes before transitionFrom use offsetBefore, from transitionTo on offsetAfter,
+        // for a gap the minutes in between do not exist, for an overlap the earlier offset is kept
+        private final long epochDay;
+        private final int offsetBefore;
+        private final int offsetAfter;
+        private final int transitionFrom;
+        private final int transitionTo;
+
+        private Day(long epochDay, int offsetBefore, int offsetAfter, int transitionFrom, int transitionTo) {
+            this.epochDay = epochDay;
+            this.offsetBefore = offsetBefore;
+            this.offsetAfter = offsetAfter;
+            this.transitionFrom = transitionFrom;
+            this.transitionTo = transitionTo;
+        }
+
+        private int toAxisMinute(int localMinute) {
+
+            if (localMinute < transitionFrom) {
+                return ORIGIN_MINUTES + localMinute - offsetBefore;
+            }
+            if (localMinute < transitionTo) {
+                return ORIGIN_MINUTES + transitionFrom - offsetBefore;
+            }
+            return ORIGIN_MINUTES + localMinute - offsetAfter;
+        }
+
+        private static Day of(ZoneRules rules, LocalDate date) {
+
+            // No local midnight of the date is earlier than 18 hours before its UTC midnight
+            ZoneOffsetTransition transition = rules.nextTransition(date.atStartOfDay().toInstant(ZoneOffset.ofHours(18)));
+            while (transition != null && transition.getDateTimeBefore().toLocalDate().isBefore(date)
+                    && transition.getDateTimeAfter().toLocalDate().isBefore(date)) {
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            if (transition == null || transition.getDateTimeBefore().toLocalDate().isAfter(date)
+                    && transition.getDateTimeAfter().toLocalDate().isAfter(date)) {
+                return unchanged(date.toEpochDay(), rules.getOffset(date.atTime(12, 0)));
+            }
+
+            int before = minuteOf(date, transition.getDateTimeBefore());
+            int after = minuteOf(date, transition.getDateTimeAfter());
+            int offsetBefore = transition.getOffsetBefore().getTotalSeconds() / 60;
+            int offsetAfter = transition.getOffsetAfter().getTotalSeconds() / 60;
+            return transition.isGap()
+                    ? new Day(date.toEpochDay(), offsetBefore, offsetAfter, before, after)
+                    : new Day(date.toEpochDay(), offsetBefore, offsetAfter, before, before);
+        }
+
+        private static Day unchanged(long epochDay, ZoneOffset offset) {
+            int minutes = offset.getTotalSeconds() / 60;
+            return new Day(epochDay, minutes, minutes, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+
+        private static int minuteOf(LocalDate date, LocalDateTime dateTime) {
+            return (int) Duration.between(date.atStartOfDay(), dateTime).toMinutes();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package pl.orange.benchmark;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.testing.Calendars;
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeded generator of valid calendars for benchmarks, meetings land on a 5 minute grid
+public final class CalendarGenerator {
+
+    private static final int START_OF_WORK = 8 * 60;
+    private static final int END_OF_WORK = 18 * 60;
+
+    private CalendarGenerator() {
+    }
+
+    public static List<Calendar> calendars(int count, int meetingsPerCalendar, long seed) {
+
+        Random random = new Random(seed);
+        List<Calendar> calendars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            calendars.add(calendar(random, meetingsPerCalendar));
+        }
+        return calendars;
+    }
+
+    public static Calendar calendar(Random random, int meetings) {
+
+        int slots = (END_OF_WORK - START_OF_WORK) / 5;
+
+        List<PlannedMeeting> plannedMeetings = new ArrayList<>(meetings);
+        for (int i = 0; i < meetings; i++) {
+            int startSlot = random.nextInt(slots);
+            int lengthSlots = 1 + random.nextInt(Math.min(12, slots - startSlot));
+            int start = START_OF_WORK + startSlot * 5;
+            plannedMeetings.add(Calendars.meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(start + lengthSlots * 5)));
+        }
+
+        Calendar calendar = new Calendar();
+        calendar.setWorkingHours(Calendars.workingHours(ScheduleUtils.formatMinutes(START_OF_WORK), ScheduleUtils.formatMinutes(END_OF_WORK)));
+        calendar.setPlannedMeetings(plannedMeetings);
+        return calendar;
+    }
+
+    // Meetings of common lengths clustered around midday on the given minute grid, so they overlap like real calendars
+    public static Calendar realisticCalendar(Random random, int meetings, int grid) {
+
+        int[] lengths = {15, 30, 30, 30, 45, 60, 60, 90};
+
+        List<PlannedMeeting> plannedMeetings = new ArrayList<>(meetings);
+        for (int i = 0; i < meetings; i++) {
+            int length = lengths[random.nextInt(lengths.length)];
+            int start = (int) Math.round(13 * 60 + random.nextGaussian() * 150);
+            start = Math.max(START_OF_WORK, Math.min(END_OF_WORK - length, start)) / grid * grid;
+            plannedMeetings.add(Calendars.meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(start + length)));
+        }
+
+        Calendar calendar = new Calendar();
+        calendar.setWorkingHours(Calendars.workingHours(ScheduleUtils.formatMinutes(START_OF_WORK), ScheduleUtils.formatMinutes(END_OF_WORK)));
+        calendar.setPlannedMeetings(plannedMeetings);
+        return calendar;
+    }
+
+    public static String toJson(Calendar calendar) {
+
+        StringBuilder json = new StringBuilder(64 + calendar.getPlannedMeetings().size() * 36);
+        json.append("{\"working_hours\":{\"start\":\"").append(calendar.getWorkingHours().getStart())
+                .append("\",\"end\":\"").append(calendar.getWorkingHours().getEnd()).append("\"},\"planned_meeting\":[");
+        for (int i = 0; i < calendar.getPlannedMeetings().size(); i++) {
+            PlannedMeeting plannedMeeting = calendar.getPlannedMeetings().get(i);
+            json.append(i == 0 ? "" : ",").append("{\"start\":\"").append(plannedMeeting.getStart())
+                    .append("\",\"end\":\"").append(plannedMeeting.getEnd()).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+}
@@ -0,0 +1,53 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.utils.CalendarJsonParser;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Tree parsing with POJO mapping compared with token streaming, run with -prof gc for allocation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarParserBenchmark {
+
+    @Param({"10000"})
+    private int meetings;
+
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        json = CalendarGenerator.toJson(CalendarGenerator.calendar(new Random(42L), meetings));
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CompiledCalendar treeParser() throws IOException {
+        return ScheduleUtils.compileCalendar(ScheduleUtils.parseJsonToCalendar(json));
+    }
+
+    @Benchmark
+    public CompiledCalendar streamingParser() throws IOException {
+        return CalendarJsonParser.parse(jsonBytes);
+    }
+}
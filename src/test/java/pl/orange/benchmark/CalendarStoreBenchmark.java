@@ -0,0 +1,101 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.store.CalendarStore;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Random groups of users searched from the off-heap store and from a heap array of compiled calendars
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarStoreBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(30);
+    private static final int GROUPS = 1024;
+
+    @Param({"100000"})
+    private int users;
+
+    @Param({"5"})
+    private int groupSize;
+
+    private final Schedule schedule = new Schedule();
+    private final GapBuffer gaps = new GapBuffer();
+    private CompiledCalendar[] compiledCalendars;
+    private CalendarStore store;
+    private int[][] groups;
+    private int group;
+
+    @Setup
+    public void setUp() {
+        List<Calendar> calendars = CalendarGenerator.calendars(users, 10, 42L);
+        compiledCalendars = new CompiledCalendar[users];
+        CalendarStore.Builder builder = CalendarStore.builder();
+        for (int i = 0; i < users; i++) {
+            compiledCalendars[i] = ScheduleUtils.compileCalendar(calendars.get(i));
+            builder.add(i, compiledCalendars[i]);
+        }
+        store = builder.build();
+
+        Random random = new Random(7L);
+        groups = new int[GROUPS][groupSize];
+        for (int[] userIds : groups) {
+            for (int i = 0; i < groupSize; i++) {
+                userIds[i] = random.nextInt(users);
+            }
+        }
+    }
+
+    @Benchmark
+    public GapBuffer storeSearch() {
+        int[] userIds = groups[group++ & (GROUPS - 1)];
+        gaps.clear();
+        schedule.findMeeting(store, userIds, MEETING_DURATION, gaps);
+        return gaps;
+    }
+
+    // Cost of resolving user ids alone
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        int[] userIds = groups[group++ & (GROUPS - 1)];
+        for (int userId : userIds) {
+            blackhole.consume(store.get(userId).getMeetingCount());
+        }
+    }
+
+    @Benchmark
+    public GapBuffer compiledSearch() {
+        int[] userIds = groups[group++ & (GROUPS - 1)];
+        List<CompiledCalendar> calendars = new ArrayList<>(userIds.length);
+        for (int userId : userIds) {
+            calendars.add(compiledCalendars[userId]);
+        }
+        gaps.clear();
+        schedule.findMeeting(calendars, MEETING_DURATION, gaps);
+        return gaps;
+    }
+}
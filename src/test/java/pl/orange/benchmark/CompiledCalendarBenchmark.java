@@ -0,0 +1,73 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Run with -prof gc to compare gc.alloc.rate.norm of both searches
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledCalendarBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(5);
+
+    @Param({"10", "100", "1000"})
+    private int meetingsPerCalendar;
+
+    private final Schedule schedule = new Schedule();
+    private List<Calendar> calendars;
+    private List<CompiledCalendar> compiledCalendars;
+    private final GapBuffer gapBuffer = new GapBuffer();
+
+    @Setup
+    public void setUp() {
+        calendars = CalendarGenerator.calendars(2, meetingsPerCalendar, 42L);
+        compiledCalendars = new ArrayList<>();
+        for (Calendar calendar : calendars) {
+            compiledCalendars.add(ScheduleUtils.compileCalendar(calendar));
+        }
+    }
+
+    @Benchmark
+    public List<String[]> calendarSearch() {
+        return PairwiseSchedule.findMeeting(calendars.get(0), calendars.get(1), "[00:05]");
+    }
+
+    @Benchmark
+    public void compiledSearch(Blackhole blackhole) {
+        schedule.findMeeting(compiledCalendars, MEETING_DURATION, (start, end) -> {
+            blackhole.consume(start);
+            blackhole.consume(end);
+        });
+    }
+
+    @Benchmark
+    public GapBuffer compiledSearchIntoBuffer() {
+        gapBuffer.clear();
+        schedule.findMeeting(compiledCalendars, MEETING_DURATION, gapBuffer);
+        return gapBuffer;
+    }
+}
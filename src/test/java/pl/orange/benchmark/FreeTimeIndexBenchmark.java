@@ -0,0 +1,79 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
+import pl.orange.service.FreeTimeIndex;
+import pl.orange.service.Schedule;
+import pl.orange.testing.Calendars;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// First day of a quarter where 30 people share two hours. Dense calendars leave almost every day hopeless,
+// so the index skips nearly all of them, sparse calendars fit on the first day and show the overhead
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreeTimeIndexBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofHours(2);
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = FROM.plusMonths(3);
+
+    @Param({"sparse", "dense"})
+    private String density;
+
+    private final Schedule schedule = new Schedule();
+    private List<DatedCalendar> calendars;
+    private FreeTimeIndex index;
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(42L);
+        int meetingsPerDay = "dense".equals(density) ? 8 : 1;
+        calendars = new ArrayList<>();
+        for (int c = 0; c < 30; c++) {
+            DatedCalendar calendar = Calendars.officeWeek();
+            for (LocalDate date = FROM; date.isBefore(TO); date = date.plusDays(1)) {
+                for (int m = 0; m < meetingsPerDay; m++) {
+                    LocalDateTime start = date.atTime(9, 0).plusMinutes(15L * random.nextInt(28));
+                    calendar.getPlannedMeetings().add(new DatedMeeting(start, start.plusMinutes(15L * (1 + random.nextInt(4)))));
+                }
+            }
+            calendars.add(calendar);
+        }
+
+        index = new FreeTimeIndex(FROM, TO);
+        calendars.forEach(index::update);
+    }
+
+    @Benchmark
+    public Object fullSweep() {
+        return schedule.findMeeting(calendars, FROM, TO, MEETING_DURATION).findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public Object indexed() {
+        return schedule.findMeeting(calendars, FROM, TO, MEETING_DURATION, index).findFirst().orElse(null);
+    }
+}
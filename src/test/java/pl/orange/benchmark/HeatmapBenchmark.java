@@ -0,0 +1,48 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.AttendanceSlot;
+import pl.orange.model.Calendar;
+import pl.orange.service.AvailabilityHeatmap;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Best attended hour of a whole organization, time is dominated by compiling every calendar once
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeatmapBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofHours(1);
+
+    @Param({"5000", "100000"})
+    private int people;
+
+    private final AvailabilityHeatmap heatmap = new AvailabilityHeatmap();
+    private List<Calendar> calendars;
+
+    @Setup
+    public void setUp() {
+        calendars = CalendarGenerator.calendars(people, 5, 42L);
+    }
+
+    @Benchmark
+    public List<AttendanceSlot> bestWindows() {
+        return heatmap.findBestWindows(calendars, MEETING_DURATION, 3);
+    }
+}
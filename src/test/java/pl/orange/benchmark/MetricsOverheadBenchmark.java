@@ -0,0 +1,83 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.metrics.ScheduleMetrics;
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Same work with metrics on and off, the difference is the instrumentation cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(30);
+
+    @Param({"true", "false"})
+    private boolean metricsEnabled;
+
+    @Param({"10", "100"})
+    private int meetingsPerCalendar;
+
+    private final Schedule schedule = new Schedule();
+    private List<CompiledCalendar> compiledCalendars;
+    private String calendarJson;
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final GapBuffer gaps = new GapBuffer();
+    }
+
+    @Setup
+    public void setUp() {
+        ScheduleMetrics.setEnabled(metricsEnabled);
+        List<Calendar> calendars = CalendarGenerator.calendars(2, meetingsPerCalendar, 42L);
+        compiledCalendars = new ArrayList<>();
+        for (Calendar calendar : calendars) {
+            compiledCalendars.add(ScheduleUtils.compileCalendar(calendar));
+        }
+        calendarJson = CalendarGenerator.toJson(calendars.get(0));
+    }
+
+    @Benchmark
+    public GapBuffer search(Buffer buffer) {
+        buffer.gaps.clear();
+        schedule.findMeeting(compiledCalendars, MEETING_DURATION, buffer.gaps);
+        return buffer.gaps;
+    }
+
+    // Contended recording, the striped counters should keep this close to the single thread cost
+    @Benchmark
+    @Threads(4)
+    public GapBuffer searchContended(Buffer buffer) {
+        return search(buffer);
+    }
+
+    @Benchmark
+    public CompiledCalendar parse() throws IOException {
+        return ScheduleUtils.parseJsonToCompiledCalendar(calendarJson);
+    }
+}
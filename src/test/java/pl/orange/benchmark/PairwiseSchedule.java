@@ -0,0 +1,193 @@
+package pl.orange.benchmark;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CalendarData;
+import pl.orange.model.PlannedMeeting;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Two calendar search as it was before the k-way merge and compiled calendars, the baseline of
+// ScheduleMergeBenchmark and CompiledCalendarBenchmark. Kept as it was, times parsed the old way too,
+// so later changes to Schedule and the model do not move it
+final class PairwiseSchedule {
+
+    private PairwiseSchedule() {
+    }
+
+    static List<String[]> findMeeting(Calendar calendar1, Calendar calendar2, String meetingDuration) {
+
+        if (calendar1 == null || calendar2 == null || meetingDuration == null) {
+            throw new NullPointerException("Appointment can not be set up with empty data");
+        }
+
+        validCalendarData(calendar1);
+        validCalendarData(calendar2);
+
+        long meetingMinutes = parseTime(meetingDuration);
+
+        return findGaps(calendar1, calendar2, meetingMinutes);
+    }
+
+    private static void validCalendarData(Calendar calendar) {
+
+        if (calendar == null) {
+            throw new NullPointerException("Given calendar is null");
+        }
+
+        if (calendar.getWorkingHours() == null) {
+            throw new NullPointerException("Null working_hours");
+        }
+
+        if (calendar.getPlannedMeetings() == null) {
+            throw new NullPointerException("Null planned_meetings");
+        }
+
+        if (calendar.getWorkingHours().getStart() == null || calendar.getWorkingHours().getEnd() == null) {
+            throw new IllegalArgumentException("Invalid working_hours, it has to contain start and end data");
+        }
+
+        if (endOf(calendar.getWorkingHours()).compareTo(startOf(calendar.getWorkingHours())) <= 0) {
+            throw new IllegalArgumentException("Invalid working_hours data, duration between start and end must be positive." +
+                    "\n start: " + calendar.getWorkingHours().getStart() + ", end: " + calendar.getWorkingHours().getEnd());
+        }
+
+        for (PlannedMeeting p : calendar.getPlannedMeetings()) {
+            if (p == null) {
+                throw new NullPointerException("Empty planned_meeting data element");
+            }
+
+            if (endOf(p).compareTo(startOf(p)) <= 0) {
+                throw new IllegalArgumentException("Invalid planned_meeting data element, duration between start and end must be positive." +
+                        "\n start: " + p.getStart() + ", end: " + p.getEnd());
+            }
+
+            if (startOf(p).compareTo(startOf(calendar.getWorkingHours())) < 0 || endOf(p).compareTo(endOf(calendar.getWorkingHours())) > 0) {
+                throw new IllegalArgumentException("Invalid planned_meeting data element, meeting should be in working hours." +
+                        "\n start of work: " + calendar.getWorkingHours().getStart() + ", end of work: " + calendar.getWorkingHours().getEnd() +
+                        "\n start of meeting: " + p.getStart() + ", end of meeting: " + p.getEnd());
+            }
+        }
+    }
+
+    private static List<String[]> findGaps(Calendar calendar1, Calendar calendar2, long meetingMinutes) {
+
+        // Getting a later start time considering working hours of both
+        LocalTime possibleStartTime = startOf(calendar1.getWorkingHours())
+                .isBefore(startOf(calendar2.getWorkingHours()))
+                ? startOf(calendar2.getWorkingHours())
+                : startOf(calendar1.getWorkingHours());
+
+        // Getting an earlier end time considering working hours of both
+        LocalTime possibleEndTime = endOf(calendar1.getWorkingHours())
+                .isBefore(endOf(calendar2.getWorkingHours()))
+                ? endOf(calendar1.getWorkingHours())
+                : endOf(calendar2.getWorkingHours());
+
+        if (possibleStartTime.isAfter(possibleEndTime)) {
+            return new ArrayList<>();
+        }
+
+        List<String[]> gaps = new ArrayList<>();
+
+        ArrayList<PlannedMeeting> meetings = new ArrayList<>();
+        meetings.addAll(calendar1.getPlannedMeetings());
+        meetings.addAll(calendar2.getPlannedMeetings());
+
+        Comparator<PlannedMeeting> byStartTime = (o1, o2) -> {
+            if (startOf(o1).compareTo(startOf(o2)) < 0) {
+                return -1;
+            } else if (startOf(o1).compareTo(startOf(o2)) > 0) {
+                return 1;
+            } else {
+                return Integer.compare(endOf(o1).compareTo(endOf(o2)), 0);
+            }
+        };
+
+        meetings.sort(byStartTime);
+
+        // Gap between possible start time and first scheduled meeting
+        if (meetings.size() > 0 && Duration.between(possibleStartTime, startOf(meetings.get(0))).toMinutes() >= meetingMinutes) {
+            gaps.add(new String[]{possibleStartTime.toString(), meetings.get(0).getStart()});
+        }
+
+        for (int i = 1; i < meetings.size(); i++) {
+            PlannedMeeting firstMeeting = meetings.get(i - 1);
+            PlannedMeeting secondMeeting = meetings.get(i);
+
+            LocalTime startOfTheMeeting = endOf(firstMeeting);
+            LocalTime endOfTheMeeting = startOf(secondMeeting);
+
+            if (endOf(firstMeeting).compareTo(possibleStartTime) < 0) {
+                startOfTheMeeting = possibleStartTime;
+            }
+
+            if (startOf(secondMeeting).compareTo(possibleEndTime) > 0) {
+                endOfTheMeeting = possibleEndTime;
+            }
+
+            Duration duration = Duration.between(startOfTheMeeting, endOfTheMeeting);
+            long gapMinutes = duration.toMinutes();
+
+            if (gapMinutes >= meetingMinutes) {
+                gaps.add(new String[]{startOfTheMeeting.toString(), endOfTheMeeting.toString()});
+            }
+        }
+
+        // Checking gaps after last meeting (if there is any) and possible end
+        if (meetings.size() > 0 && Duration.between(endOf(meetings.get(meetings.size() - 1)), possibleEndTime).toMinutes() >= meetingMinutes) {
+            gaps.add(new String[]{endOf(meetings.get(meetings.size() - 1)).toString(), possibleEndTime.toString()});
+        } else if (meetings.size() == 0 && Duration.between(possibleStartTime, possibleEndTime).toMinutes() >= meetingMinutes) {
+            gaps.add(new String[]{possibleStartTime.toString(), possibleEndTime.toString()});
+        }
+
+        return gaps;
+    }
+
+    private static long parseTime(String timeString) {
+
+        long meetingMinutes;
+        try {
+            LocalTime meetingLocalTime = LocalTime.parse(timeString.substring(1, timeString.length() - 1));
+            meetingMinutes = meetingLocalTime.getHour() * 60 + meetingLocalTime.getMinute();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Bad time format, use [HH:MM]");
+        }
+
+        if (meetingMinutes == 0) {
+            throw new IllegalArgumentException("Meeting has to have non zero time");
+        }
+
+        return meetingMinutes;
+    }
+
+    private static LocalTime startOf(CalendarData data) {
+
+        if (data.getStart() == null) {
+            throw new NullPointerException("Start time is empty");
+        }
+
+        if (data.getStart().matches("(\\d{2}):(\\d{2})")) {
+            return LocalTime.parse(data.getStart());
+        } else {
+            throw new IllegalArgumentException("Start time [" + data.getStart() + "] is not in required format [HH:MM]");
+        }
+    }
+
+    private static LocalTime endOf(CalendarData data) {
+
+        if (data.getEnd() == null) {
+            throw new NullPointerException("End time is empty");
+        }
+
+        if (data.getEnd().matches("(\\d{2}):(\\d{2})")) {
+            return LocalTime.parse(data.getEnd());
+        } else {
+            throw new IllegalArgumentException("End time [" + data.getEnd() + "] is not in required format [HH:MM]");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.model.QuorumSlot;
+import pl.orange.service.Schedule;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Two required attendees and a growing optional list, time should grow linearly with the total meetings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuorumBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(30);
+
+    @Param({"10", "100", "1000"})
+    private int optionalAttendees;
+
+    private final Schedule schedule = new Schedule();
+    private List<Calendar> required;
+    private List<Calendar> optional;
+    private int quorum;
+
+    @Setup
+    public void setUp() {
+        required = CalendarGenerator.calendars(2, 3, 42L);
+        optional = CalendarGenerator.calendars(optionalAttendees, 4, 43L);
+        quorum = optionalAttendees / 2;
+    }
+
+    @Benchmark
+    public List<QuorumSlot> quorumSearch() {
+        return schedule.findQuorumMeeting(required, optional, quorum, MEETING_DURATION);
+    }
+}
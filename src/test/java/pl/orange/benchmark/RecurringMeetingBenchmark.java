@@ -0,0 +1,89 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
+import pl.orange.model.RecurringMeeting;
+import pl.orange.service.Schedule;
+import pl.orange.testing.Calendars;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One quarter searched over calendars holding recurring rules, against the same calendars with every occurrence
+// of two years expanded up front as the importers used to do
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurringMeetingBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(60);
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = FROM.plusMonths(3);
+
+    @Param({"5", "50"})
+    private int rulesPerCalendar;
+
+    private final Schedule schedule = new Schedule();
+    private List<DatedCalendar> withRules;
+    private List<DatedCalendar> expanded;
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(42L);
+        withRules = new ArrayList<>();
+        expanded = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            DatedCalendar rules = Calendars.officeWeek();
+            DatedCalendar occurrences = Calendars.officeWeek();
+            for (int r = 0; r < rulesPerCalendar; r++) {
+                RecurringMeeting rule = new RecurringMeeting();
+                rule.setFrequency(RecurringMeeting.Frequency.values()[random.nextInt(3)]);
+                rule.setInterval(1 + random.nextInt(2));
+                rule.setFirstDate(FROM.minusDays(random.nextInt(365)));
+                int start = 9 * 60 + 15 * random.nextInt(28);
+                rule.setStart(ScheduleUtils.formatMinutes(start));
+                rule.setEnd(ScheduleUtils.formatMinutes(start + 15 + 15 * random.nextInt(4)));
+                rules.getRecurringMeetings().add(rule);
+
+                for (LocalDate date = FROM.minusYears(1); date.isBefore(FROM.plusYears(1)); date = date.plusDays(1)) {
+                    if (rule.occursOn(date)) {
+                        occurrences.getPlannedMeetings().add(new DatedMeeting(date.atStartOfDay().plusMinutes(start),
+                                date.atStartOfDay().plusMinutes(rule.getEndAsMinutes())));
+                    }
+                }
+            }
+            withRules.add(rules);
+            expanded.add(occurrences);
+        }
+    }
+
+    @Benchmark
+    public long rules() {
+        return schedule.findMeeting(withRules, FROM, TO, MEETING_DURATION).count();
+    }
+
+    @Benchmark
+    public long expandedOccurrences() {
+        return schedule.findMeeting(expanded, FROM, TO, MEETING_DURATION).count();
+    }
+}
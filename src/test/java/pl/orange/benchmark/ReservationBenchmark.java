@@ -0,0 +1,86 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.service.CalendarReservations;
+import pl.orange.testing.Calendars;
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Many threads booking and releasing meetings over overlapping attendee sets drawn from a small population,
+// striped locks against one global lock around the same calls
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ReservationBenchmark {
+
+    private static final int ATTENDEES = 4;
+
+    @Param({"50", "1000"})
+    private int people;
+
+    private final Object globalLock = new Object();
+    private CalendarReservations reservations;
+    private List<String> ids;
+
+    @Setup
+    public void setUp() {
+        reservations = new CalendarReservations();
+        ids = new ArrayList<>(people);
+        Random random = new Random(42L);
+        for (int i = 0; i < people; i++) {
+            ids.add("user" + i);
+            reservations.addCalendar("user" + i, CalendarGenerator.calendar(random, 4));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        private final Random random = new Random();
+        List<String> attendees;
+        PlannedMeeting meeting;
+
+        @Setup(Level.Invocation)
+        public void next(ReservationBenchmark benchmark) {
+            attendees = new ArrayList<>(ATTENDEES);
+            for (int i = 0; i < ATTENDEES; i++) {
+                attendees.add(benchmark.ids.get(random.nextInt(benchmark.people)));
+            }
+            int start = 8 * 60 + 5 * random.nextInt(108);
+            meeting = Calendars.meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(start + 30));
+        }
+    }
+
+    @Benchmark
+    public boolean striped(Request request) {
+        return reservations.reserve(request.attendees, request.meeting) && reservations.release(request.attendees, request.meeting);
+    }
+
+    @Benchmark
+    public boolean globalLock(Request request) {
+        synchronized (globalLock) {
+            return reservations.reserve(request.attendees, request.meeting) && reservations.release(request.attendees, request.meeting);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.model.ResourceCalendar;
+import pl.orange.model.ResourceSlot;
+import pl.orange.service.ResourceIndex;
+import pl.orange.service.Schedule;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Five attendees against thousands of rooms, the capacity and feature index decides how many rooms are swept
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceSearchBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(30);
+    private static final String[] FEATURES = {"projector", "video", "whiteboard", "phone", "accessible"};
+
+    @Param({"1000", "5000"})
+    private int rooms;
+
+    @Param({"2", "12"})
+    private int minCapacity;
+
+    private final Schedule schedule = new Schedule();
+    private List<Calendar> attendees;
+    private ResourceIndex index;
+
+    @Setup
+    public void setUp() {
+        attendees = CalendarGenerator.calendars(5, 10, 42L);
+
+        Random random = new Random(7L);
+        List<ResourceCalendar> resources = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            Calendar calendar = CalendarGenerator.calendar(random, 8);
+            ResourceCalendar room = new ResourceCalendar();
+            room.setId("room-" + i);
+            room.setCapacity(2 + random.nextInt(14));
+            for (String feature : FEATURES) {
+                if (random.nextInt(3) == 0) {
+                    room.getFeatures().add(feature);
+                }
+            }
+            room.setWorkingHours(calendar.getWorkingHours());
+            room.setPlannedMeetings(calendar.getPlannedMeetings());
+            resources.add(room);
+        }
+        index = new ResourceIndex(resources);
+    }
+
+    @Benchmark
+    public List<ResourceSlot> anyRoom() {
+        return schedule.findMeeting(attendees, MEETING_DURATION, index, minCapacity, Set.of());
+    }
+
+    @Benchmark
+    public List<ResourceSlot> roomWithVideo() {
+        return schedule.findMeeting(attendees, MEETING_DURATION, index, minCapacity, Set.of("projector", "video"));
+    }
+}
@@ -0,0 +1,79 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.service.Schedule;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Public entry points of the library, one calendar pair per (meetings, grid), grid 5 takes the bitset engine
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000", "100000"})
+    private int meetings;
+
+    @Param({"1", "5"})
+    private int grid;
+
+    private final Schedule schedule = new Schedule();
+    private String json1;
+    private String json2;
+    private Calendar calendar1;
+    private Calendar calendar2;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        calendar1 = CalendarGenerator.realisticCalendar(random, meetings, grid);
+        calendar2 = CalendarGenerator.realisticCalendar(random, meetings, grid);
+        json1 = CalendarGenerator.toJson(calendar1);
+        json2 = CalendarGenerator.toJson(calendar2);
+    }
+
+    @Benchmark
+    public Calendar parseJsonToCalendar() throws IOException {
+        return ScheduleUtils.parseJsonToCalendar(json1);
+    }
+
+    @Benchmark
+    public Calendar validCalendarData() {
+        ScheduleUtils.validCalendarData(calendar1);
+        return calendar1;
+    }
+
+    @Benchmark
+    public List<String[]> findMeetingStrings() {
+        return schedule.findMeeting(json1, json2, "[00:15]");
+    }
+
+    @Benchmark
+    public List<String[]> findMeetingCalendarsString() {
+        return schedule.findMeeting(calendar1, calendar2, "[00:15]");
+    }
+
+    @Benchmark
+    public List<String[]> findMeetingCalendarsLocalTime() {
+        return schedule.findMeeting(calendar1, calendar2, LocalTime.of(0, 15));
+    }
+}
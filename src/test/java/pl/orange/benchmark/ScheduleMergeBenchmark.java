@@ -0,0 +1,90 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.model.WorkingHours;
+import pl.orange.service.Schedule;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// N-party search in one k-way merge compared with chaining the original two calendar search
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleMergeBenchmark {
+
+    @Param({"2", "20", "200"})
+    private int people;
+
+    @Param({"10"})
+    private int meetingsPerCalendar;
+
+    private final Schedule schedule = new Schedule();
+    private List<Calendar> calendars;
+
+    @Setup
+    public void setUp() {
+        calendars = CalendarGenerator.calendars(people, meetingsPerCalendar, 42L);
+    }
+
+    @Benchmark
+    public List<String[]> kWayMerge() {
+        return schedule.findMeeting(calendars, Duration.ofMinutes(15));
+    }
+
+    @Benchmark
+    public List<String[]> pairwiseChaining() {
+
+        List<String[]> gaps = PairwiseSchedule.findMeeting(calendars.get(0), calendars.get(1), "[00:01]");
+        for (int i = 2; i < calendars.size() && !gaps.isEmpty(); i++) {
+            gaps = PairwiseSchedule.findMeeting(calendarOfGaps(gaps), calendars.get(i), "[00:01]");
+        }
+
+        List<String[]> meetingGaps = new ArrayList<>();
+        for (String[] gap : gaps) {
+            if (Duration.between(LocalTime.parse(gap[0]), LocalTime.parse(gap[1])).toMinutes() >= 15) {
+                meetingGaps.add(gap);
+            }
+        }
+        return meetingGaps;
+    }
+
+    // What callers do today: turn the common free time back into a calendar to intersect with the next person
+    private static Calendar calendarOfGaps(List<String[]> gaps) {
+
+        WorkingHours workingHours = new WorkingHours();
+        workingHours.setStart(gaps.get(0)[0]);
+        workingHours.setEnd(gaps.get(gaps.size() - 1)[1]);
+
+        List<PlannedMeeting> busy = new ArrayList<>(gaps.size());
+        for (int i = 1; i < gaps.size(); i++) {
+            PlannedMeeting plannedMeeting = new PlannedMeeting();
+            plannedMeeting.setStart(gaps.get(i - 1)[1]);
+            plannedMeeting.setEnd(gaps.get(i)[0]);
+            busy.add(plannedMeeting);
+        }
+
+        Calendar calendar = new Calendar();
+        calendar.setWorkingHours(workingHours);
+        calendar.setPlannedMeetings(busy);
+        return calendar;
+    }
+}
@@ -0,0 +1,88 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.server.ScheduleServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Load test of the HTTP service on localhost, 16 client threads on kept alive connections, latency percentiles from sample time.
+// The fork gets nodelay the way ScheduleServer.main sets it
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class ScheduleServerBenchmark {
+
+    @Param({"5", "50"})
+    private int people;
+
+    @Param({"20", "2000"})
+    private int meetingsPerCalendar;
+
+    private ExecutorService executor;
+    private ScheduleServer server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        executor = ScheduleServer.perRequestExecutor();
+        server = new ScheduleServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        StringBuilder body = new StringBuilder("{\"meeting_duration\":\"[00:15]\",\"calendars\":[");
+        List<Calendar> calendars = CalendarGenerator.calendars(people, meetingsPerCalendar, 42L);
+        for (int i = 0; i < calendars.size(); i++) {
+            body.append(i == 0 ? "" : ",").append(CalendarGenerator.toJson(calendars.get(i)));
+        }
+        body.append("]}");
+
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + ScheduleServer.PATH))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(Duration.ZERO);
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String findMeeting() throws IOException, InterruptedException {
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Server answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
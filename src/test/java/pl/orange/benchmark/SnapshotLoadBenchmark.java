@@ -0,0 +1,72 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.store.CalendarSnapshot;
+import pl.orange.store.CalendarStore;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to a searchable store at startup, from calendar JSON versus from a mapped snapshot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotLoadBenchmark {
+
+    @Param({"100000"})
+    private int users;
+
+    private String[] json;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Calendar> calendars = CalendarGenerator.calendars(users, 10, 42L);
+        json = new String[users];
+        CalendarStore.Builder builder = CalendarStore.builder();
+        for (int i = 0; i < users; i++) {
+            json[i] = CalendarGenerator.toJson(calendars.get(i));
+            builder.add(i, ScheduleUtils.compileCalendar(calendars.get(i)));
+        }
+        snapshot = Files.createTempFile("calendars", ".snapshot");
+        CalendarSnapshot.write(builder.build(), snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public CalendarStore fromJson() throws IOException {
+        CalendarStore.Builder builder = CalendarStore.builder();
+        for (int i = 0; i < users; i++) {
+            builder.add(i, ScheduleUtils.parseJsonToCompiledCalendar(json[i]));
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public CalendarStore fromSnapshot() throws IOException {
+        return CalendarSnapshot.load(snapshot);
+    }
+}
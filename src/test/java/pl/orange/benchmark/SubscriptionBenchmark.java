@@ -0,0 +1,91 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.orange.model.Calendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.service.Schedule;
+import pl.orange.service.SlotSubscriptions;
+import pl.orange.testing.Calendars;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One member books and cancels a meeting while many group views watch, pushed deltas versus searching every group again
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(30);
+    private static final int MEMBERS = 200;
+    private static final int GROUP_SIZE = 5;
+
+    @Param({"1000"})
+    private int dashboards;
+
+    private final Schedule schedule = new Schedule();
+    private SlotSubscriptions subscriptions;
+    private List<Calendar> calendars;
+    private List<List<Calendar>> groupsOfMember0;
+    private PlannedMeeting meeting;
+
+    @Setup
+    public void setUp() {
+        calendars = CalendarGenerator.calendars(MEMBERS, 6, 42L);
+        subscriptions = new SlotSubscriptions();
+        for (int i = 0; i < MEMBERS; i++) {
+            subscriptions.addMember("member-" + i, calendars.get(i));
+        }
+
+        Random random = new Random(7L);
+        groupsOfMember0 = new ArrayList<>();
+        for (int d = 0; d < dashboards; d++) {
+            List<String> ids = new ArrayList<>();
+            List<Calendar> group = new ArrayList<>();
+            for (int i = 0; i < GROUP_SIZE; i++) {
+                int member = i == 0 && d % 10 == 0 ? 0 : random.nextInt(MEMBERS);
+                ids.add("member-" + member);
+                group.add(calendars.get(member));
+            }
+            subscriptions.subscribe(ids, MEETING_DURATION, delta -> {
+            });
+            if (ids.contains("member-0")) {
+                groupsOfMember0.add(group);
+            }
+        }
+        meeting = Calendars.meeting("14:00", "14:45");
+    }
+
+    @Benchmark
+    public void pushedDeltas() {
+        subscriptions.insert("member-0", meeting);
+        subscriptions.remove("member-0", meeting);
+    }
+
+    // What a dashboard poll costs without subscriptions, twice to match the insert and the remove
+    @Benchmark
+    public void fullRecompute(Blackhole blackhole) {
+        for (int i = 0; i < 2; i++) {
+            for (List<Calendar> group : groupsOfMember0) {
+                blackhole.consume(schedule.findMeeting(group, MEETING_DURATION));
+            }
+        }
+    }
+}
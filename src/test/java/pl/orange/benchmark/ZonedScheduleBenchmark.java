@@ -0,0 +1,70 @@
+package pl.orange.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.orange.model.Calendar;
+import pl.orange.model.ZonedCalendar;
+import pl.orange.model.ZonedSlot;
+import pl.orange.service.Schedule;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Attendees spread over six zones against the same calendars without zones, the zone tables are cached
+// after the first call so the difference is only the mapping of every time to the shared axis
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZonedScheduleBenchmark {
+
+    private static final Duration MEETING_DURATION = Duration.ofMinutes(30);
+    private static final LocalDate DATE = LocalDate.of(2023, 3, 26);
+    private static final List<ZoneId> ZONES = List.of(ZoneId.of("America/Los_Angeles"), ZoneId.of("America/New_York"),
+            ZoneId.of("Europe/London"), ZoneId.of("Europe/Warsaw"), ZoneId.of("Asia/Kolkata"), ZoneId.of("Asia/Tokyo"));
+
+    @Param({"6", "60"})
+    private int attendees;
+
+    private final Schedule schedule = new Schedule();
+    private List<Calendar> calendars;
+    private List<ZonedCalendar> zonedCalendars;
+
+    @Setup
+    public void setUp() {
+        calendars = CalendarGenerator.calendars(attendees, 4, 42L);
+        zonedCalendars = new ArrayList<>(attendees);
+        for (int i = 0; i < attendees; i++) {
+            ZonedCalendar calendar = new ZonedCalendar();
+            calendar.setWorkingHours(calendars.get(i).getWorkingHours());
+            calendar.setPlannedMeetings(calendars.get(i).getPlannedMeetings());
+            calendar.setZone(ZONES.get(i % ZONES.size()));
+            zonedCalendars.add(calendar);
+        }
+    }
+
+    @Benchmark
+    public List<String[]> localSearch() {
+        return schedule.findMeeting(calendars, MEETING_DURATION);
+    }
+
+    @Benchmark
+    public List<ZonedSlot> zonedSearch() {
+        return schedule.findMeeting(zonedCalendars, DATE, MEETING_DURATION);
+    }
+}
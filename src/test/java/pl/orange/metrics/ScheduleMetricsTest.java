@@ -0,0 +1,183 @@
+package pl.orange.metrics;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.utils.ScheduleUtils;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class ScheduleMetricsTest {
+
+    private static final String CALENDAR_1 = "{\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"}," +
+            "\"planned_meeting\":[{\"start\":\"10:00\",\"end\":\"11:00\"},{\"start\":\"13:00\",\"end\":\"14:00\"}]}";
+    private static final String CALENDAR_2 = "{\"working_hours\":{\"start\":\"08:00\",\"end\":\"16:00\"}," +
+            "\"planned_meeting\":[{\"start\":\"12:00\",\"end\":\"12:30\"}]}";
+
+    @Before
+    public void setUp() {
+        ScheduleMetrics.setEnabled(true);
+        ScheduleMetrics.setSampleRate(1);
+        ScheduleMetrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        ScheduleMetrics.setEnabled(true);
+        ScheduleMetrics.setSampleRate(ScheduleMetrics.DEFAULT_SAMPLE_RATE);
+        ScheduleMetrics.reset();
+    }
+
+    @Test
+    public void shouldKeepPercentilesWithinBucketError() {
+
+        // Before
+        Histogram histogram = new Histogram();
+        Random random = new Random(7L);
+        long[] values = new long[10_000];
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextInt(1_000_000);
+            histogram.record(values[i]);
+            sum += values[i];
+        }
+        Arrays.sort(values);
+
+        // When
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        // Then
+        Assert.assertEquals(values.length, snapshot.getCount());
+        assertWithinBucketError(values[values.length - 1], snapshot.getMax());
+        Assert.assertEquals(sum / values.length, snapshot.getMean(), sum / values.length / 16);
+        assertWithinBucketError(values[values.length / 2 - 1], snapshot.getP50());
+        assertWithinBucketError(values[values.length * 99 / 100 - 1], snapshot.getP99());
+    }
+
+    @Test
+    public void shouldMapEveryValueIntoBucketCoveringIt() {
+
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789L, Long.MAX_VALUE}) {
+
+            // When
+            int bucket = Histogram.bucket(value);
+
+            // Then
+            Assert.assertTrue(String.valueOf(value), Histogram.highestValue(bucket) >= value);
+            Assert.assertTrue(String.valueOf(value), bucket == 0 || Histogram.highestValue(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    public void shouldRecordParsingValidationAndSearch() {
+
+        // When
+        List<String[]> response = new Schedule().findMeeting(CALENDAR_1, CALENDAR_2, "[00:30]");
+
+        // Then
+        Map<String, HistogramSnapshot> metrics = ScheduleMetrics.snapshot();
+        Assert.assertEquals(2, metrics.get("parse.latency").getCount());
+        Assert.assertEquals(1, metrics.get("search.latency").getCount());
+        Assert.assertEquals(3, metrics.get("search.meetings").getMax());
+        Assert.assertEquals(response.size(), metrics.get("search.gaps").getMax());
+    }
+
+    @Test
+    public void shouldRecordValidationOfCalendarObjects() throws IOException {
+
+        // When
+        ScheduleUtils.parseJsonToCalendar(CALENDAR_1);
+
+        // Then
+        Map<String, HistogramSnapshot> metrics = ScheduleMetrics.snapshot();
+        Assert.assertEquals(1, metrics.get("parse.latency").getCount());
+        Assert.assertEquals(1, metrics.get("validation.latency").getCount());
+        Assert.assertEquals(1L, (long) ScheduleMetrics.counts().get("parse.count"));
+        Assert.assertEquals(1L, (long) ScheduleMetrics.counts().get("validation.count"));
+    }
+
+    @Test
+    public void shouldNotRecordWhenDisabled() throws IOException {
+
+        // Before
+        ScheduleMetrics.setEnabled(false);
+
+        // When
+        new Schedule().findMeeting(List.of(ScheduleUtils.parseJsonToCompiledCalendar(CALENDAR_1)),
+                Duration.ofMinutes(30), new GapBuffer());
+
+        // Then
+        ScheduleMetrics.export(metrics -> metrics.values()
+                .forEach(histogram -> Assert.assertEquals(0, histogram.getCount())));
+        ScheduleMetrics.counts().values().forEach(count -> Assert.assertEquals(0L, (long) count));
+    }
+
+    @Test
+    public void shouldRecordOnlySampledSearches() throws IOException {
+
+        // Before
+        ScheduleMetrics.setSampleRate(16);
+        List<CompiledCalendar> calendars = List.of(ScheduleUtils.parseJsonToCompiledCalendar(CALENDAR_1));
+        ScheduleMetrics.reset();
+
+        // When
+        for (int i = 0; i < 16_000; i++) {
+            new Schedule().findMeeting(calendars, Duration.ofMinutes(30), new GapBuffer());
+        }
+
+        // Then
+        long count = ScheduleMetrics.snapshot().get("search.latency").getCount();
+        Assert.assertTrue("sampled " + count, count > 700 && count < 1300);
+        Assert.assertEquals(16_000L, (long) ScheduleMetrics.counts().get("search.count"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_SampleRateNotPowerOfTwo() {
+
+        // Then
+        ScheduleMetrics.setSampleRate(10);
+    }
+
+    @Test
+    public void shouldExposeStatisticsOverJmx() throws Exception {
+
+        // Before
+        ScheduleMetrics.registerMBean();
+        ScheduleMetrics.registerMBean();
+        new Schedule().findMeeting(CALENDAR_1, CALENDAR_2, "[00:30]");
+
+        // When
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        TabularData statistics = (TabularData) server.getAttribute(new ObjectName(ScheduleMetrics.OBJECT_NAME), "Statistics");
+
+        // Then
+        Map<String, Double> values = new HashMap<>();
+        for (Object row : statistics.values()) {
+            CompositeData entry = (CompositeData) row;
+            values.put((String) entry.get("key"), (Double) entry.get("value"));
+        }
+        Assert.assertEquals(1.0, values.get("search.latency.count"), 0.0);
+        Assert.assertEquals(2.0, values.get("parse.latency.count"), 0.0);
+        Assert.assertEquals(1.0, values.get("search.count"), 0.0);
+    }
+
+    private static void assertWithinBucketError(long expected, long actual) {
+        Assert.assertTrue("expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 8 + 1);
+    }
+}
@@ -0,0 +1,86 @@
+package pl.orange.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class NdjsonBatchRunnerTest {
+
+    @Test
+    public void shouldAnswer_InInputOrder() throws IOException {
+
+        // Before     // Each request has a different meeting, so any reordering changes the answer
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            String meetingStart = ScheduleUtils.formatMinutes(9 * 60 + i % 400);
+            String meetingEnd = ScheduleUtils.formatMinutes(9 * 60 + i % 400 + 30);
+            input.append("{\"meeting_duration\":\"[00:30]\",\"calendars\":[{\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"},")
+                    .append("\"planned_meeting\":[{\"start\":\"").append(meetingStart).append("\",\"end\":\"").append(meetingEnd).append("\"}]}]}\r\n");
+            expected.append('[');
+            if (i % 400 >= 30) {
+                expected.append("[\"09:00\",\"").append(meetingStart).append("\"],");
+            }
+            expected.append("[\"").append(meetingEnd).append("\",\"17:00\"]]\n");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long answered = new NdjsonBatchRunner(executor, 7, 3).run(channel(input.toString()), Channels.newChannel(output));
+        executor.shutdown();
+
+        // Then
+        Assert.assertEquals(500, answered);
+        Assert.assertEquals(expected.toString(), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldAnswerError_InvalidLine() throws IOException {
+
+        // Before
+        String input = "I am not JSON\n\n{\"meeting_duration\":\"[00:30]\",\"calendars\":[{\"working_hours\":{\"start\":\"09:00\",\"end\":\"10:00\"},\"planned_meeting\":[]}]}";
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long answered = new NdjsonBatchRunner().run(channel(input), Channels.newChannel(output));
+
+        // Then
+        Assert.assertEquals(3, answered);
+        Assert.assertEquals("{\"error\":\"Given line is not valid JSON\"}\n{\"error\":\"Given line is empty\"}\n[[\"09:00\",\"10:00\"]]\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldAnswerEveryLine_BlankAndTrailingContent() throws IOException {
+
+        // Before     // Answers have to stay aligned with line numbers, the final newline does not start a line
+        String request = "{\"meeting_duration\":\"[00:30]\",\"calendars\":[{\"working_hours\":{\"start\":\"09:00\",\"end\":\"10:00\"},\"planned_meeting\":[]}]}";
+        String input = " \t\r\n" + request + request + "\n\r\n" + request + " x\n" + request + "\n";
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long answered = new NdjsonBatchRunner().run(channel(input), Channels.newChannel(output));
+
+        // Then
+        Assert.assertEquals(5, answered);
+        Assert.assertEquals("{\"error\":\"Given line is empty\"}\n"
+                + "{\"error\":\"Given line is not valid JSON\"}\n"
+                + "{\"error\":\"Given line is empty\"}\n"
+                + "{\"error\":\"Given line is not valid JSON\"}\n"
+                + "[[\"09:00\",\"10:00\"]]\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ReadableByteChannel channel(String input) {
+        return Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
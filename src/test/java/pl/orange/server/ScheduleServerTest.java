@@ -0,0 +1,168 @@
+package pl.orange.server;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+public class ScheduleServerTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ExecutorService executor;
+    private ScheduleServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = ScheduleServer.perRequestExecutor();
+        server = new ScheduleServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(Duration.ZERO);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldCorrectlyFind_GivenExample() throws IOException, InterruptedException {
+
+        // Before
+        String body = "{\"meeting_duration\":\"[00:30]\",\"calendars\":["
+                + Files.readString(Path.of("src/test/resources/data/Calendar1.json")) + ","
+                + Files.readString(Path.of("src/test/resources/data/Calendar2.json")) + "]}";
+
+        // When
+        HttpResponse<String> response = post(body);
+        HttpResponse<String> sameConnection = post(body);
+
+        // Then
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertEquals("[[\"11:30\",\"12:00\"],[\"15:00\",\"16:00\"],[\"18:00\",\"18:30\"]]", response.body());
+        Assert.assertEquals(response.body(), sameConnection.body());
+    }
+
+    @Test
+    public void shouldRespondBadRequest_InvalidCalendar() throws IOException, InterruptedException {
+
+        // Before
+        String body = "{\"meeting_duration\":\"[00:30]\",\"calendars\":[{\"working_hours\":{\"start\":\"13:00\",\"end\":\"12:00\"},\"planned_meeting\":[]}]}";
+
+        // When
+        HttpResponse<String> response = post(body);
+
+        // Then
+        Assert.assertEquals(400, response.statusCode());
+        Assert.assertTrue(response.body().contains("working_hours"));
+    }
+
+    @Test
+    public void shouldRespondBadRequest_NonJsonBody() throws IOException, InterruptedException {
+
+        // When
+        HttpResponse<String> response = post("I am not JSON");
+
+        // Then
+        Assert.assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    public void shouldRespondMethodNotAllowed_Get() throws IOException, InterruptedException {
+
+        // When
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri()).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        Assert.assertEquals(405, response.statusCode());
+    }
+
+    @Test
+    public void shouldAnswerInOrder_PipelinedRequests() throws IOException {
+
+        // Before
+        String body = "{\"meeting_duration\":\"[00:30]\",\"calendars\":["
+                + Files.readString(Path.of("src/test/resources/data/Calendar1.json")) + ","
+                + Files.readString(Path.of("src/test/resources/data/Calendar2.json")) + "]}";
+        String invalidBody = "I am not JSON";
+        StringBuilder requests = new StringBuilder();
+        for (String requestBody : List.of(body, invalidBody, body)) {
+            requests.append("POST ").append(ScheduleServer.PATH).append(" HTTP/1.1\r\nHost: localhost\r\nContent-Length: ")
+                    .append(requestBody.getBytes(StandardCharsets.UTF_8).length).append("\r\n\r\n").append(requestBody);
+        }
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(10_000);
+
+            // When     // All requests go out in one write, before any answer is read
+            socket.getOutputStream().write(requests.toString().getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            String[] first = readResponse(in);
+            String[] second = readResponse(in);
+            String[] third = readResponse(in);
+
+            // Then
+            Assert.assertEquals("200", first[0]);
+            Assert.assertEquals("[[\"11:30\",\"12:00\"],[\"15:00\",\"16:00\"],[\"18:00\",\"18:30\"]]", first[1]);
+            Assert.assertEquals("400", second[0]);
+            Assert.assertEquals("200", third[0]);
+            Assert.assertEquals(first[1], third[1]);
+        }
+    }
+
+    // Status code and body of one fixed length HTTP/1.1 response
+    private static String[] readResponse(InputStream in) throws IOException {
+
+        String status = readLine(in);
+        int contentLength = 0;
+        String header;
+        while (!(header = readLine(in)).isEmpty()) {
+            if (header.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+            }
+        }
+        return new String[]{status.split(" ")[1], new String(in.readNBytes(contentLength), StandardCharsets.UTF_8)};
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("Connection closed in the middle of a response");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private HttpResponse<String> post(String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri()).POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + server.getPort() + ScheduleServer.PATH);
+    }
+}
@@ -0,0 +1,94 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.AttendanceSlot;
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+
+public class AvailabilityHeatmapTest {
+
+    private final AvailabilityHeatmap heatmap = new AvailabilityHeatmap();
+
+    @Test
+    public void shouldCorrectlyFind_BestWindows() {
+
+        // Before
+        List<Calendar> calendars = List.of(
+                calendar("09:00", "17:00", meeting("09:00", "11:00")),
+                calendar("09:00", "17:00", meeting("13:00", "17:00")),
+                calendar("10:00", "12:00"),
+                calendar("14:00", "16:00"));
+
+        // When
+        List<AttendanceSlot> response = heatmap.findBestWindows(calendars, Duration.ofMinutes(60), 3);
+
+        // Then
+        Assert.assertEquals(3, response.size());
+        Assert.assertEquals(new AttendanceSlot("11:00", "12:00", 3), response.get(0));
+        Assert.assertEquals(new AttendanceSlot("10:00", "11:00", 2), response.get(1));
+        Assert.assertEquals(new AttendanceSlot("12:00", "13:00", 2), response.get(2));
+    }
+
+    @Test
+    public void shouldCorrectly_CountFreePeople_SameAsBruteForce() {
+
+        // Before     // Small partitions run on the calling thread, so every partition boundary is exercised
+        Random random = new Random(7);
+        List<Calendar> calendars = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            List<PlannedMeeting> meetings = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                int start = 8 * 60 + random.nextInt(9 * 60);
+                meetings.add(meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(Math.min(18 * 60, start + 5 + random.nextInt(90)))));
+            }
+            calendars.add(calendar("08:00", "18:00", meetings.toArray(new PlannedMeeting[0])));
+        }
+        AvailabilityHeatmap partitioned = new AvailabilityHeatmap(Runnable::run, 7);
+        int meetingMinutes = 45;
+
+        // When
+        int[] free = partitioned.freeCounts(calendars);
+        List<AttendanceSlot> best = partitioned.findBestWindows(calendars, Duration.ofMinutes(meetingMinutes), 1);
+
+        // Then
+        int bestAttendees = 0;
+        for (int minute = 0; minute < CompiledCalendar.MINUTES_PER_DAY; minute++) {
+            Assert.assertEquals(freeForWindow(calendars, minute, 1), free[minute]);
+            if (minute + meetingMinutes <= CompiledCalendar.MINUTES_PER_DAY) {
+                bestAttendees = Math.max(bestAttendees, freeForWindow(calendars, minute, meetingMinutes));
+            }
+        }
+        Assert.assertEquals(bestAttendees, best.get(0).getAttendees());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_NonPositiveCount() {
+
+        // Then
+        heatmap.findBestWindows(List.of(calendar("09:00", "17:00")), Duration.ofMinutes(30), 0);
+    }
+
+    private static int freeForWindow(List<Calendar> calendars, int start, int minutes) {
+        int count = 0;
+        for (Calendar calendar : calendars) {
+            CompiledCalendar compiledCalendar = ScheduleUtils.compileCalendar(calendar);
+            boolean free = start >= compiledCalendar.getStartOfWork() && start + minutes <= compiledCalendar.getEndOfWork();
+            for (int i = 0; i < compiledCalendar.getMeetingCount() && free; i++) {
+                free = compiledCalendar.getMeetingEnd(i) <= start || compiledCalendar.getMeetingStart(i) >= start + minutes;
+            }
+            count += free ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,86 @@
+package pl.orange.service;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pl.orange.model.Calendar;
+import pl.orange.model.MeetingRequest;
+import pl.orange.model.MeetingResult;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static pl.orange.testing.Calendars.calendar;
+
+public class BatchScheduleTest {
+
+    private final Schedule schedule = new Schedule();
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldCorrectlyFind_ResultsInInputOrder() throws IOException {
+
+        // Before
+        Calendar calendar1 = ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json")));
+        Calendar calendar2 = ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar2.json")));
+        List<MeetingRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requests.add(new MeetingRequest(List.of(calendar1, calendar2), Duration.ofMinutes(30 + i % 2 * 30)));
+        }
+        BatchSchedule batchSchedule = new BatchSchedule(schedule, pool, 7);
+
+        // When
+        List<MeetingResult> response = batchSchedule.findMeetings(requests);
+
+        // Then
+        Assert.assertEquals(1000, response.size());
+        for (int i = 0; i < response.size(); i++) {
+            Assert.assertTrue(response.get(i).isSuccessful());
+            Assert.assertEquals(i % 2 == 0 ? 3 : 1, response.get(i).getGaps().size());
+        }
+        Assert.assertArrayEquals(new String[]{"15:00", "16:00"}, response.get(1).getGaps().get(0));
+    }
+
+    @Test
+    public void shouldKeepGoing_AfterBadCalendar() throws IOException {
+
+        // Before
+        Calendar calendar = ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json")));
+        Calendar badCalendar = calendar("13:00", "12:00");
+
+        // When
+        List<MeetingResult> response = new BatchSchedule(schedule).findMeetings(Stream.of(
+                new MeetingRequest(List.of(calendar, calendar), Duration.ofMinutes(30)),
+                new MeetingRequest(List.of(calendar, badCalendar), Duration.ofMinutes(30)),
+                new MeetingRequest(List.of(calendar), Duration.ZERO),
+                null,
+                new MeetingRequest(List.of(calendar), Duration.ofMinutes(30))));
+
+        // Then
+        Assert.assertEquals(5, response.size());
+        Assert.assertTrue(response.get(0).isSuccessful());
+        Assert.assertTrue(response.get(1).getError() instanceof IllegalArgumentException);
+        Assert.assertTrue(response.get(2).getError() instanceof IllegalArgumentException);
+        Assert.assertTrue(response.get(3).getError() instanceof NullPointerException);
+        Assert.assertTrue(response.get(4).isSuccessful());
+        Assert.assertEquals(response.get(0).getGaps().size(), response.get(4).getGaps().size());
+    }
+}
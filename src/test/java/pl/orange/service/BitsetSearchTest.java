@@ -0,0 +1,70 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.CompiledCalendar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static pl.orange.testing.Calendars.randomCalendarOnGrid;
+
+public class BitsetSearchTest {
+
+    @Test
+    public void shouldFindSameGapsAsMerge_RandomCalendars() {
+
+        Random random = new Random(20230417L);
+        for (int round = 0; round < 5000; round++) {
+
+            // Before
+            List<CompiledCalendar> calendars = new ArrayList<>();
+            int people = 1 + random.nextInt(6);
+            for (int i = 0; i < people; i++) {
+                calendars.add(randomCalendarOnGrid(random, random.nextInt(15), BitsetSearch.SLOT_MINUTES));
+            }
+            int meetingMinutes = 1 + random.nextInt(120);
+
+            // When
+            List<int[]> expected = new ArrayList<>();
+            GapSearch.current().search(calendars, meetingMinutes, (start, end) -> expected.add(new int[]{start, end}));
+            List<int[]> response = new ArrayList<>();
+            BitsetSearch.current().search(calendars, meetingMinutes, (start, end) -> response.add(new int[]{start, end}));
+
+            // Then
+            Assert.assertEquals("round " + round, expected.size(), response.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertArrayEquals("round " + round, expected.get(i), response.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSupportOnlyCalendarsOnGrid() {
+
+        // Before
+        CompiledCalendar onGrid = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60 + 5}, new int[]{10 * 60 + 35}, 1);
+        CompiledCalendar offGrid = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60 + 7}, new int[]{10 * 60 + 35}, 1);
+
+        // Then
+        Assert.assertTrue(BitsetSearch.supports(List.of(onGrid, onGrid)));
+        Assert.assertFalse(BitsetSearch.supports(List.of(onGrid, offGrid)));
+    }
+
+    @Test
+    public void shouldFindGapsAcrossWordBoundaries() {
+
+        // Before     // 05:20 is slot 64, the first slot of the second word
+        CompiledCalendar calendar = CompiledCalendar.of(0, 23 * 60 + 55, new int[]{5 * 60 + 20, 12 * 60}, new int[]{10 * 60 + 40, 23 * 60 + 55}, 2);
+        List<int[]> response = new ArrayList<>();
+
+        // When
+        BitsetSearch.current().search(List.of(calendar), 5, (start, end) -> response.add(new int[]{start, end}));
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertArrayEquals(new int[]{0, 5 * 60 + 20}, response.get(0));
+        Assert.assertArrayEquals(new int[]{10 * 60 + 40, 12 * 60}, response.get(1));
+    }
+}
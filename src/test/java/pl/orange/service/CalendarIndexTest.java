@@ -0,0 +1,122 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.utils.ScheduleUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+
+public class CalendarIndexTest {
+
+    @Test
+    public void shouldCorrectlyFindFreeSlots_AfterInsertAndRemove() {
+
+        // Before
+        CalendarIndex index = new CalendarIndex(calendar("09:00", "17:00", meeting("10:00", "11:00")));
+        index.insert(meeting("10:30", "12:00"));
+        index.insert(meeting("13:00", "14:00"));
+        index.remove(meeting("10:00", "11:00"));
+
+        // When
+        List<int[]> response = new ArrayList<>();
+        index.findFreeSlots(9 * 60, 15 * 60, 60, (start, end) -> response.add(new int[]{start, end}));
+
+        // Then
+        Assert.assertEquals(3, response.size());
+        Assert.assertArrayEquals(new int[]{9 * 60, 10 * 60 + 30}, response.get(0));
+        Assert.assertArrayEquals(new int[]{12 * 60, 13 * 60}, response.get(1));
+        Assert.assertArrayEquals(new int[]{14 * 60, 15 * 60}, response.get(2));
+    }
+
+    @Test
+    public void shouldCorrectlyFindFreeSlots_InsideBusyBlock() {
+
+        // Before
+        CalendarIndex index = new CalendarIndex(calendar("09:00", "17:00", meeting("09:00", "12:00")));
+
+        // When
+        List<int[]> response = new ArrayList<>();
+        index.findFreeSlots(10 * 60, 13 * 60, 30, (start, end) -> response.add(new int[]{start, end}));
+
+        // Then
+        Assert.assertEquals(1, response.size());
+        Assert.assertArrayEquals(new int[]{12 * 60, 13 * 60}, response.get(0));
+    }
+
+    @Test
+    public void shouldKeepSnapshot_AfterChange() {
+
+        // Before
+        CalendarIndex index = new CalendarIndex(calendar("09:00", "17:00"));
+        CompiledCalendar before = index.snapshot();
+
+        // When
+        index.insert(meeting("10:00", "11:00"));
+
+        // Then
+        Assert.assertEquals(0, before.getMeetingCount());
+        Assert.assertEquals(1, index.snapshot().getMeetingCount());
+        Assert.assertSame(index.snapshot(), index.snapshot());
+    }
+
+    @Test
+    public void shouldNotRemove_UnknownMeeting() {
+
+        // Before
+        CalendarIndex index = new CalendarIndex(calendar("09:00", "17:00", meeting("10:00", "11:00")));
+
+        // Then
+        Assert.assertFalse(index.remove(meeting("10:00", "10:30")));
+        Assert.assertEquals(1, index.getMeetingCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_InsertOutsideWorkingHours() {
+
+        // Before
+        CalendarIndex index = new CalendarIndex(calendar("09:00", "17:00"));
+
+        // Then
+        index.insert(meeting("16:30", "17:30"));
+    }
+
+    @Test
+    public void shouldFindSameGapsAsFullSearch_RandomBookings() {
+
+        Random random = new Random(7L);
+        CalendarIndex index = new CalendarIndex(calendar("08:00", "18:00"));
+        List<PlannedMeeting> booked = new ArrayList<>();
+
+        for (int round = 0; round < 2000; round++) {
+
+            // When
+            if (booked.isEmpty() || random.nextInt(3) > 0) {
+                int start = 8 * 60 + random.nextInt(9 * 60);
+                PlannedMeeting plannedMeeting = meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(start + 1 + random.nextInt(60)));
+                index.insert(plannedMeeting);
+                booked.add(plannedMeeting);
+            } else {
+                Assert.assertTrue(index.remove(booked.remove(random.nextInt(booked.size()))));
+            }
+
+            // Then
+            List<int[]> expected = new ArrayList<>();
+            GapSearch.current().search(List.of(ScheduleUtils.compileCalendar(calendar("08:00", "18:00", booked.toArray(new PlannedMeeting[0])))), 10,
+                    (start, end) -> expected.add(new int[]{start, end}));
+            List<int[]> response = new ArrayList<>();
+            index.findFreeSlots(0, CompiledCalendar.MINUTES_PER_DAY, 10, (start, end) -> response.add(new int[]{start, end}));
+
+            Assert.assertEquals("round " + round, expected.size(), response.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertArrayEquals("round " + round, expected.get(i), response.get(i));
+            }
+        }
+    }
+}
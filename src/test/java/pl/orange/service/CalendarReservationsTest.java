@@ -0,0 +1,102 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+
+public class CalendarReservationsTest {
+
+    @Test
+    public void shouldNotChangeAnyCalendar_OneAttendeeBusy() {
+
+        // Before
+        CalendarReservations reservations = new CalendarReservations();
+        reservations.addCalendar("anna", calendar("09:00", "17:00", meeting("10:00", "11:00")));
+        reservations.addCalendar("piotr", calendar("09:00", "17:00"));
+
+        // When
+        boolean conflicting = reservations.reserve(List.of("piotr", "anna"), meeting("10:30", "11:30"));
+        boolean free = reservations.reserve(List.of("piotr", "anna"), meeting("11:00", "12:00"));
+
+        // Then
+        Assert.assertFalse(conflicting);
+        Assert.assertTrue(free);
+        GapBuffer gaps = new GapBuffer();
+        reservations.findMeeting(List.of("piotr"), Duration.ofMinutes(1), gaps);
+        Assert.assertArrayEquals(new int[]{9 * 60, 11 * 60, 12 * 60, 17 * 60}, gaps.toArray());
+    }
+
+    @Test
+    public void shouldNeverDoubleBook_ConcurrentOverlappingAttendees() throws Exception {
+
+        // Before     // Few stripes, so unrelated calendars share locks too
+        CalendarReservations reservations = new CalendarReservations(4);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add("user" + i);
+            reservations.addCalendar("user" + i, calendar("09:00", "17:00"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long seed = t;
+            results.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                int[] booked = new int[ids.size()];
+                for (int n = 0; n < 2000; n++) {
+                    List<String> attendees = List.of(ids.get(random.nextInt(12)), ids.get(random.nextInt(12)), ids.get(random.nextInt(12)));
+                    int start = 9 * 60 + 15 * random.nextInt(31);
+                    if (reservations.reserve(attendees, meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(start + 15)))) {
+                        attendees.stream().distinct().forEach(id -> booked[ids.indexOf(id)]++);
+                    }
+                }
+                return booked;
+            }));
+        }
+        int[] booked = new int[ids.size()];
+        for (Future<int[]> result : results) {
+            int[] counts = result.get();
+            for (int i = 0; i < booked.length; i++) {
+                booked[i] += counts[i];
+            }
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then     // A double booking would leave less busy time than booked meetings
+        for (int i = 0; i < ids.size(); i++) {
+            GapBuffer gaps = new GapBuffer();
+            reservations.findMeeting(List.of(ids.get(i)), Duration.ofMinutes(1), gaps);
+            int free = 0;
+            for (int g = 0; g < gaps.size(); g++) {
+                free += gaps.getEndMinute(g) - gaps.getStartMinute(g);
+            }
+            Assert.assertEquals(8 * 60 - booked[i] * 15, free);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_UnknownCalendar() {
+
+        // Before
+        CalendarReservations reservations = new CalendarReservations();
+        reservations.addCalendar("anna", calendar("09:00", "17:00"));
+
+        // Then
+        reservations.reserve(List.of("anna", "jan"), meeting("10:00", "11:00"));
+    }
+}
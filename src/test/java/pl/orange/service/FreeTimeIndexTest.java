@@ -0,0 +1,135 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
+import pl.orange.model.DaySummary;
+import pl.orange.model.RecurringMeeting;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static pl.orange.testing.Calendars.officeWeek;
+
+public class FreeTimeIndexTest {
+
+    private final Schedule schedule = new Schedule();
+
+    @Test
+    public void shouldCorrectly_SummarizeDay() {
+
+        // Before     // 2023-04-14 is a Friday, 2023-04-15 a Saturday
+        DatedCalendar calendar = officeWeek();
+        calendar.getPlannedMeetings().add(new DatedMeeting(LocalDateTime.of(2023, 4, 14, 9, 30), LocalDateTime.of(2023, 4, 14, 12, 0)));
+        calendar.getPlannedMeetings().add(new DatedMeeting(LocalDateTime.of(2023, 4, 14, 13, 0), LocalDateTime.of(2023, 4, 14, 15, 0)));
+        FreeTimeIndex index = new FreeTimeIndex(LocalDate.of(2023, 4, 14), LocalDate.of(2023, 4, 16));
+
+        // When
+        index.update(calendar);
+
+        // Then
+        Assert.assertEquals(new DaySummary(30 + 60 + 120, 120, 1 << 9 | 1 << 12 | 1 << 15 | 1 << 16), index.getSummary(calendar, LocalDate.of(2023, 4, 14)));
+        Assert.assertEquals(new DaySummary(0, 0, 0), index.getSummary(calendar, LocalDate.of(2023, 4, 15)));
+        Assert.assertNull(index.getSummary(calendar, LocalDate.of(2023, 4, 16)));
+    }
+
+    @Test
+    public void shouldFindSameGaps_WithAndWithoutIndex() {
+
+        // Before
+        Random random = new Random(11);
+        LocalDate from = LocalDate.of(2023, 1, 2);
+        LocalDate to = from.plusDays(60);
+        List<DatedCalendar> calendars = new ArrayList<>();
+        for (int c = 0; c < 6; c++) {
+            DatedCalendar calendar = officeWeek();
+            for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+                for (int m = random.nextInt(6); m > 0; m--) {
+                    LocalDateTime start = date.atTime(8, 0).plusMinutes(15L * random.nextInt(40));
+                    calendar.getPlannedMeetings().add(new DatedMeeting(start, start.plusMinutes(15L * (1 + random.nextInt(12)))));
+                }
+            }
+            calendars.add(calendar);
+        }
+        // Only part of the range is indexed, the rest has to be searched in full
+        FreeTimeIndex index = new FreeTimeIndex(from, from.plusDays(45));
+        calendars.forEach(index::update);
+
+        for (int minutes : new int[]{30, 90, 150}) {
+
+            // When
+            List<String> expected = schedule.findMeeting(calendars, from, to, Duration.ofMinutes(minutes))
+                    .map(gap -> gap[0] + " " + gap[1]).collect(Collectors.toList());
+            List<String> response = schedule.findMeeting(calendars, from, to, Duration.ofMinutes(minutes), index)
+                    .map(gap -> gap[0] + " " + gap[1]).collect(Collectors.toList());
+
+            // Then
+            Assert.assertEquals(expected, response);
+        }
+    }
+
+    @Test
+    public void shouldSearchIndexedCalendar_AsOfLastUpdate() {
+
+        // Before     // 2023-04-14 is a Friday
+        LocalDate date = LocalDate.of(2023, 4, 14);
+        DatedCalendar calendar = officeWeek();
+        calendar.getPlannedMeetings().add(new DatedMeeting(date.atTime(9, 0), date.atTime(12, 0)));
+        FreeTimeIndex index = new FreeTimeIndex(date, date.plusDays(1));
+        index.update(calendar);
+        calendar.getPlannedMeetings().add(new DatedMeeting(date.atTime(12, 0), date.atTime(16, 0)));
+
+        // When
+        LocalDateTime[] beforeUpdate = schedule.findMeeting(List.of(calendar), date, date.plusDays(1), Duration.ofMinutes(60), index)
+                .findFirst().orElse(null);
+        index.update(calendar);
+        LocalDateTime[] afterUpdate = schedule.findMeeting(List.of(calendar), date, date.plusDays(1), Duration.ofMinutes(60), index)
+                .findFirst().orElse(null);
+
+        // Then
+        Assert.assertArrayEquals(new LocalDateTime[]{date.atTime(12, 0), date.atTime(17, 0)}, beforeUpdate);
+        Assert.assertArrayEquals(new LocalDateTime[]{date.atTime(16, 0), date.atTime(17, 0)}, afterUpdate);
+    }
+
+    @Test
+    public void shouldSearchIndexedCopy_CalendarChangedAfterUpdate() {
+
+        // Before     // 2023-04-14 is a Friday, none of the later changes would pass validation
+        LocalDate date = LocalDate.of(2023, 4, 14);
+        DatedCalendar calendar = officeWeek();
+        calendar.getPlannedMeetings().add(new DatedMeeting(date.atTime(9, 0), date.atTime(12, 0)));
+        FreeTimeIndex index = new FreeTimeIndex(date, date.plusDays(1));
+        index.update(calendar);
+        calendar.getWeeklyWorkingHours().get(DayOfWeek.FRIDAY).setStart("16:00");
+        calendar.getWeeklyWorkingHours().get(DayOfWeek.FRIDAY).setEnd("09:00");
+        calendar.getRecurringMeetings().add(new RecurringMeeting());
+        calendar.getPlannedMeetings().get(0).setEnd(date.atTime(8, 0));
+
+        // When
+        List<LocalDateTime[]> response = schedule.findMeeting(List.of(calendar), date, date.plusDays(1), Duration.ofMinutes(60), index)
+                .collect(Collectors.toList());
+
+        // Then
+        Assert.assertEquals(1, response.size());
+        Assert.assertArrayEquals(new LocalDateTime[]{date.atTime(12, 0), date.atTime(17, 0)}, response.get(0));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowException_NotIndexedCalendarWithoutWorkingHours() {
+
+        // Before
+        LocalDate date = LocalDate.of(2023, 4, 14);
+        DatedCalendar calendar = officeWeek();
+        calendar.setWeeklyWorkingHours(null);
+
+        // Then
+        schedule.findMeeting(List.of(calendar), date, date.plusDays(1), Duration.ofMinutes(60), new FreeTimeIndex(date, date.plusDays(1)));
+    }
+}
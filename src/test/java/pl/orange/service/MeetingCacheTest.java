@@ -0,0 +1,112 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MeetingCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final MeetingCache cache = new MeetingCache(new Schedule(), 2, Duration.ofSeconds(10), clock::get);
+
+    @Test
+    public void shouldHit_SameCalendarContent() throws IOException {
+
+        // Before     // Parsed twice, so equal content in different objects
+        List<CompiledCalendar> calendars = List.of(compiled("Calendar1.json"), compiled("Calendar2.json"));
+        List<CompiledCalendar> sameCalendars = List.of(compiled("Calendar1.json"), compiled("Calendar2.json"));
+
+        // When
+        List<String[]> first = cache.findMeetingCompiled(calendars, Duration.ofMinutes(30));
+        List<String[]> second = cache.findMeetingCompiled(sameCalendars, Duration.ofMinutes(30));
+
+        // Then
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(3, second.size());
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertArrayEquals(first.get(i), second.get(i));
+        }
+        Assert.assertArrayEquals(new String[]{"11:30", "12:00"}, second.get(0));
+    }
+
+    @Test
+    public void shouldMiss_OtherDuration() throws IOException {
+
+        // Before
+        List<CompiledCalendar> calendars = List.of(compiled("Calendar1.json"), compiled("Calendar2.json"));
+
+        // When
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(30));
+        List<String[]> response = cache.findMeetingCompiled(calendars, Duration.ofMinutes(60));
+
+        // Then
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(1, response.size());
+    }
+
+    @Test
+    public void shouldEvict_LeastRecentlyUsed() throws IOException {
+
+        // Before
+        List<CompiledCalendar> calendars = List.of(compiled("Calendar1.json"), compiled("Calendar2.json"));
+
+        // When
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(5));
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(10));
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(5));
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(15));
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(5));
+
+        // Then
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldEvict_AfterTimeToLive() throws IOException {
+
+        // Before
+        List<CompiledCalendar> calendars = List.of(compiled("Calendar1.json"), compiled("Calendar2.json"));
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(30));
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(30));
+
+        // Then
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldMiss_AfterInvalidate() throws IOException {
+
+        // Before
+        CompiledCalendar calendar1 = compiled("Calendar1.json");
+        List<CompiledCalendar> calendars = List.of(calendar1, compiled("Calendar2.json"));
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(30));
+
+        // When
+        cache.invalidate(calendar1);
+        cache.findMeetingCompiled(calendars, Duration.ofMinutes(30));
+
+        // Then
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    private static CompiledCalendar compiled(String file) throws IOException {
+        return ScheduleUtils.parseJsonToCompiledCalendar(Files.readString(Path.of("src/test/resources/data/" + file)));
+    }
+}
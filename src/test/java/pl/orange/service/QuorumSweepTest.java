@@ -0,0 +1,181 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.Calendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.model.QuorumSlot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+import static pl.orange.testing.Calendars.randomCalendar;
+
+public class QuorumSweepTest {
+
+    private final Schedule schedule = new Schedule();
+
+    @Test
+    public void shouldListUnavailableOptionalAttendees() {
+
+        // Before
+        Calendar organizer = calendar("09:00", "17:00", meeting("09:00", "10:00"));
+        Calendar anna = calendar("09:00", "17:00", meeting("10:00", "12:00"));
+        Calendar bob = calendar("11:00", "17:00");
+        Calendar carl = calendar("09:00", "17:00", meeting("13:00", "17:00"));
+
+        // When
+        List<QuorumSlot> response = schedule.findQuorumMeeting(List.of(organizer), List.of(anna, bob, carl), 2, Duration.ofMinutes(60));
+
+        // Then
+        Assert.assertEquals(List.of(
+                new QuorumSlot("11:00", "13:00", List.of(0)),
+                new QuorumSlot("12:00", "17:00", List.of(2))), response);
+    }
+
+    @Test
+    public void shouldMatchFindMeeting_FullQuorum() {
+
+        // Before
+        Random random = new Random(18L);
+        for (int round = 0; round < 200; round++) {
+            List<Calendar> optional = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                optional.add(randomCalendar(random, random.nextInt(6)));
+            }
+            Duration meetingDuration = Duration.ofMinutes(5 + random.nextInt(60));
+
+            // When
+            List<QuorumSlot> response = schedule.findQuorumMeeting(List.of(), optional, optional.size(), meetingDuration);
+
+            // Then
+            List<String[]> expected = schedule.findMeeting(optional, meetingDuration);
+            Assert.assertEquals("round " + round, expected.size(), response.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(expected.get(i)[0], response.get(i).getStart());
+                Assert.assertEquals(expected.get(i)[1], response.get(i).getEnd());
+                Assert.assertTrue(response.get(i).getUnavailableOptional().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void shouldCoverEveryQuorumMeeting_RandomCalendars() {
+
+        Random random = new Random(19L);
+        for (int round = 0; round < 300; round++) {
+
+            // Before
+            List<Calendar> required = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(3); i++) {
+                required.add(randomCalendar(random, random.nextInt(4)));
+            }
+            List<Calendar> optional = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(8); i++) {
+                optional.add(randomCalendar(random, random.nextInt(6)));
+            }
+            int quorum = random.nextInt(optional.size() + 1);
+            int minutes = 5 + random.nextInt(60);
+
+            // When
+            List<QuorumSlot> response = schedule.findQuorumMeeting(required, optional, quorum, Duration.ofMinutes(minutes));
+
+            // Then
+            boolean[] requiredFree = freeMinutes(required);
+            boolean[][] optionalFree = new boolean[optional.size()][];
+            for (int i = 0; i < optional.size(); i++) {
+                optionalFree[i] = freeMinutes(List.of(optional.get(i)));
+            }
+            for (QuorumSlot slot : response) {
+                int start = minutes(slot.getStart());
+                int end = minutes(slot.getEnd());
+                Assert.assertTrue("round " + round, end - start >= minutes && freeFor(requiredFree, start, end));
+                List<Integer> unavailable = new ArrayList<>();
+                for (int i = 0; i < optional.size(); i++) {
+                    if (!freeFor(optionalFree[i], start, end)) {
+                        unavailable.add(i);
+                    }
+                }
+                Assert.assertEquals("round " + round, unavailable, slot.getUnavailableOptional());
+                Assert.assertTrue("round " + round, optional.size() - unavailable.size() >= quorum);
+            }
+            for (int start = 0; start + minutes <= requiredFree.length; start++) {
+                int free = 0;
+                for (boolean[] attendee : optionalFree) {
+                    free += freeFor(attendee, start, start + minutes) ? 1 : 0;
+                }
+                if (free >= quorum && freeFor(requiredFree, start, start + minutes) && (free > 0 || !required.isEmpty())) {
+                    Assert.assertTrue("round " + round + " start " + start, covered(response, start, start + minutes));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepWithinWorkingHours_ZeroQuorumWithoutRequired() {
+
+        // Before
+        List<Calendar> optional = List.of(calendar("09:00", "12:00"), calendar("14:00", "17:00"));
+
+        // When
+        List<QuorumSlot> response = schedule.findQuorumMeeting(List.of(), optional, 0, Duration.ofMinutes(30));
+
+        // Then
+        Assert.assertEquals(List.of(new QuorumSlot("09:00", "12:00", List.of(1)), new QuorumSlot("14:00", "17:00", List.of(0))), response);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_QuorumAboveOptionalCount() {
+
+        // When
+        schedule.findQuorumMeeting(List.of(), List.of(calendar("09:00", "17:00")), 2, Duration.ofMinutes(30));
+    }
+
+    private static boolean[] freeMinutes(List<Calendar> calendars) {
+
+        boolean[] free = new boolean[24 * 60];
+        Arrays.fill(free, true);
+        for (Calendar calendar : calendars) {
+            for (int m = 0; m < free.length; m++) {
+                if (m < calendar.getWorkingHours().getStartAsMinutes() || m >= calendar.getWorkingHours().getEndAsMinutes()) {
+                    free[m] = false;
+                }
+            }
+            for (PlannedMeeting meeting : calendar.getPlannedMeetings()) {
+                for (int m = meeting.getStartAsMinutes(); m < meeting.getEndAsMinutes(); m++) {
+                    free[m] = false;
+                }
+            }
+        }
+        return free;
+    }
+
+    private static boolean freeFor(boolean[] free, int start, int end) {
+
+        for (int m = start; m < end; m++) {
+            if (!free[m]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean covered(List<QuorumSlot> slots, int start, int end) {
+
+        for (QuorumSlot slot : slots) {
+            if (minutes(slot.getStart()) <= start && end <= minutes(slot.getEnd())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int minutes(String time) {
+        return Integer.parseInt(time.substring(0, 2)) * 60 + Integer.parseInt(time.substring(3));
+    }
+}
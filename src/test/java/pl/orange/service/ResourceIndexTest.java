@@ -0,0 +1,180 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.Calendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.model.ResourceCalendar;
+import pl.orange.model.ResourceSlot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+import static pl.orange.testing.Calendars.randomCalendar;
+import static pl.orange.testing.Calendars.workingHours;
+
+public class ResourceIndexTest {
+
+    private final Schedule schedule = new Schedule();
+
+    @Test
+    public void shouldBookSmallestMatchingRoom() {
+
+        // Before
+        Calendar person = calendar("09:00", "17:00", meeting("09:00", "12:00"));
+        ResourceIndex rooms = new ResourceIndex(List.of(
+                room("hall", 100, Set.of("projector"), "08:00", "18:00", meeting("15:00", "16:00")),
+                room("large", 20, Set.of("projector"), "08:00", "18:00", meeting("12:00", "14:00")),
+                room("small", 4, Set.of("projector"), "08:00", "18:00"),
+                room("medium", 10, Set.of("projector", "video"), "08:00", "18:00", meeting("12:00", "14:00")),
+                room("medium-no-projector", 10, Set.of(), "08:00", "18:00")));
+
+        // When
+        List<ResourceSlot> response = schedule.findMeeting(List.of(person), Duration.ofMinutes(30), rooms, 6, Set.of("projector"));
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertEquals(new ResourceSlot("12:00", "15:00", "hall"), response.get(0));
+        Assert.assertEquals(new ResourceSlot("14:00", "17:00", "medium"), response.get(1));
+    }
+
+    @Test
+    public void shouldReturnNothing_NoRoomHasFeature() {
+
+        // Before
+        Calendar person = calendar("09:00", "17:00");
+        ResourceIndex rooms = new ResourceIndex(List.of(room("small", 4, Set.of("projector"), "08:00", "18:00")));
+
+        // When
+        List<ResourceSlot> response = schedule.findMeeting(List.of(person), Duration.ofMinutes(30), rooms, 1, Set.of("whiteboard"));
+
+        // Then
+        Assert.assertTrue(response.isEmpty());
+    }
+
+    @Test
+    public void shouldCoverEveryPossibleMeeting_RandomCalendars() {
+
+        Random random = new Random(17L);
+        String[] features = {"projector", "video", "whiteboard"};
+        for (int round = 0; round < 300; round++) {
+
+            // Before
+            List<Calendar> people = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(3); i++) {
+                people.add(randomCalendar(random, new Calendar(), random.nextInt(6)));
+            }
+            List<ResourceCalendar> roomList = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(20); i++) {
+                ResourceCalendar room = randomCalendar(random, new ResourceCalendar(), random.nextInt(6));
+                room.setId("room-" + i);
+                room.setCapacity(random.nextInt(12));
+                for (String feature : features) {
+                    if (random.nextBoolean()) {
+                        room.getFeatures().add(feature);
+                    }
+                }
+                roomList.add(room);
+            }
+            int minCapacity = random.nextInt(8);
+            Set<String> required = random.nextBoolean() ? Set.of() : Set.of(features[random.nextInt(features.length)]);
+            int minutes = 5 + random.nextInt(60);
+
+            // When
+            List<ResourceSlot> response = schedule.findMeeting(people, Duration.ofMinutes(minutes), new ResourceIndex(roomList), minCapacity, required);
+
+            // Then
+            boolean[] peopleFree = freeMinutes(people);
+            Map<String, boolean[]> roomFree = new HashMap<>();
+            for (ResourceCalendar room : roomList) {
+                if (room.getCapacity() >= minCapacity && room.getFeatures().containsAll(required)) {
+                    roomFree.put(room.getId(), freeMinutes(List.of(room)));
+                }
+            }
+            for (ResourceSlot slot : response) {
+                int start = minutes(slot.getStart());
+                int end = minutes(slot.getEnd());
+                Assert.assertTrue("round " + round, end - start >= minutes);
+                for (int m = start; m < end; m++) {
+                    Assert.assertTrue("round " + round, peopleFree[m] && roomFree.get(slot.getResourceId())[m]);
+                }
+            }
+            for (boolean[] free : roomFree.values()) {
+                for (int start = 0; start + minutes <= peopleFree.length; start++) {
+                    if (freeFor(peopleFree, start, minutes) && freeFor(free, start, minutes)) {
+                        Assert.assertTrue("round " + round + " start " + start, covered(response, start, start + minutes));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_DuplicateResourceId() {
+
+        // When
+        new ResourceIndex(List.of(room("a", 1, Set.of(), "08:00", "18:00"), room("a", 2, Set.of(), "08:00", "18:00")));
+    }
+
+    private static boolean[] freeMinutes(List<? extends Calendar> calendars) {
+
+        boolean[] free = new boolean[24 * 60];
+        Arrays.fill(free, true);
+        for (Calendar calendar : calendars) {
+            for (int m = 0; m < free.length; m++) {
+                if (m < calendar.getWorkingHours().getStartAsMinutes() || m >= calendar.getWorkingHours().getEndAsMinutes()) {
+                    free[m] = false;
+                }
+            }
+            for (PlannedMeeting meeting : calendar.getPlannedMeetings()) {
+                for (int m = meeting.getStartAsMinutes(); m < meeting.getEndAsMinutes(); m++) {
+                    free[m] = false;
+                }
+            }
+        }
+        return free;
+    }
+
+    private static boolean freeFor(boolean[] free, int start, int minutes) {
+
+        for (int m = start; m < start + minutes; m++) {
+            if (!free[m]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean covered(List<ResourceSlot> slots, int start, int end) {
+
+        for (ResourceSlot slot : slots) {
+            if (minutes(slot.getStart()) <= start && end <= minutes(slot.getEnd())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int minutes(String time) {
+        return Integer.parseInt(time.substring(0, 2)) * 60 + Integer.parseInt(time.substring(3));
+    }
+
+    private static ResourceCalendar room(String id, int capacity, Set<String> features, String start, String end, PlannedMeeting... plannedMeetings) {
+
+        ResourceCalendar room = new ResourceCalendar();
+        room.setId(id);
+        room.setCapacity(capacity);
+        room.setFeatures(features);
+        room.setWorkingHours(workingHours(start, end));
+        room.setPlannedMeetings(List.of(plannedMeetings));
+        return room;
+    }
+}
@@ -3,15 +3,37 @@ package pl.orange.service;
 import org.junit.Assert;
 import org.junit.Test;
 import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.DatedMeeting;
 import pl.orange.model.PlannedMeeting;
+import pl.orange.model.RecurringMeeting;
 import pl.orange.model.WorkingHours;
+import pl.orange.model.ZonedCalendar;
+import pl.orange.model.ZonedSlot;
+import pl.orange.utils.ScheduleUtils;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+import static pl.orange.testing.Calendars.officeWeek;
+import static pl.orange.testing.Calendars.randomCalendar;
+import static pl.orange.testing.Calendars.recurring;
+import static pl.orange.testing.Calendars.zoned;
 
 public class ScheduleTest {
     private final Schedule schedule = new Schedule();
@@ -238,13 +260,12 @@ public class ScheduleTest {
         // When
         List<String[]> response = schedule.findMeeting(calendar1, calendar2, meetingDuration);
 
-        // Then
-        Assert.assertEquals(5, response.size());
+        // Then     // 11:50 - 12:00 is inside the 11:00 - 12:00 meeting of the first calendar
+        Assert.assertEquals(4, response.size());
         Assert.assertArrayEquals(new String[]{"10:00", "10:30"}, response.get(0));
-        Assert.assertArrayEquals(new String[]{"11:50", "12:00"}, response.get(1));
-        Assert.assertArrayEquals(new String[]{"13:25", "13:30"}, response.get(2));
-        Assert.assertArrayEquals(new String[]{"14:45", "15:00"}, response.get(3));
-        Assert.assertArrayEquals(new String[]{"16:40", "17:00"}, response.get(4));
+        Assert.assertArrayEquals(new String[]{"13:25", "13:30"}, response.get(1));
+        Assert.assertArrayEquals(new String[]{"14:45", "15:00"}, response.get(2));
+        Assert.assertArrayEquals(new String[]{"16:40", "17:00"}, response.get(3));
     }
 
     @Test
@@ -393,6 +414,418 @@ public class ScheduleTest {
         // Then
         schedule.findMeeting(calendar1, calendar2, meetingDuration);
     }
-}
 
+    // Tests for N-party search (List<Calendar>, Duration)
+    @Test
+    public void shouldCorrectlyFind_ManyCalendars() throws IOException {
+
+        // Before
+        List<Calendar> calendars = List.of(
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json"))),
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar2.json"))),
+                ScheduleUtils.parseJsonToCalendar("{\"working_hours\":{\"start\":\"08:00\",\"end\":\"18:15\"},\"planned_meeting\":[{\"start\":\"11:45\",\"end\":\"12:00\"}]}"));
+
+        // When
+        List<String[]> response = schedule.findMeeting(calendars, Duration.ofMinutes(15));
+
+        // Then
+        Assert.assertEquals(3, response.size());
+        Assert.assertArrayEquals(new String[]{"11:30", "11:45"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"15:00", "16:00"}, response.get(1));
+        Assert.assertArrayEquals(new String[]{"18:00", "18:15"}, response.get(2));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_ManyCalendars_BiggerExamples_InRandomOrder() throws IOException {
+
+        // Before
+        Calendar calendar1 = ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/CalendarBig1.json")));
+        Calendar calendar2 = ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/CalendarBig2.json")));
+
+        // When
+        List<String[]> response = schedule.findMeeting(List.of(calendar1, calendar2), Duration.ofMinutes(5));
+
+        // Then
+        Assert.assertEquals(4, response.size());
+        Assert.assertArrayEquals(new String[]{"10:00", "10:30"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"13:25", "13:30"}, response.get(1));
+        Assert.assertArrayEquals(new String[]{"14:45", "15:00"}, response.get(2));
+        Assert.assertArrayEquals(new String[]{"16:40", "17:00"}, response.get(3));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_ManyCalendars_NestedMeetings() {
+
+        // Before
+        String calendarNestedMeetings = "{\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"},\"planned_meeting\":[{\"start\":\"10:00\",\"end\":\"14:00\"},{\"start\":\"11:00\",\"end\":\"12:00\"}]}";
+        String calendarValidData = "{\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"},\"planned_meeting\":[{\"start\":\"12:30\",\"end\":\"13:00\"}]}";
+
+        // When
+        List<String[]> response = schedule.findMeeting(List.of(parse(calendarNestedMeetings), parse(calendarValidData)), Duration.ofMinutes(30));
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertArrayEquals(new String[]{"09:00", "10:00"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"14:00", "17:00"}, response.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_ManyCalendars_Empty() {
+
+        // Then
+        schedule.findMeeting(List.of(), Duration.ofMinutes(30));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_ManyCalendars_ZeroMeetingDuration() {
+
+        // Before
+        String calendarValidData = "{\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"},\"planned_meeting\":[]}";
+
+        // Then
+        schedule.findMeeting(List.of(parse(calendarValidData)), Duration.ZERO);
+    }
+
+    @Test
+    public void shouldCorrectlyFind_CompiledCalendars_IntoSink() throws IOException {
+
+        // Before
+        List<CompiledCalendar> calendars = List.of(
+                ScheduleUtils.parseJsonToCompiledCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json"))),
+                ScheduleUtils.parseJsonToCompiledCalendar(Files.readString(Path.of("src/test/resources/data/Calendar2.json"))));
+        List<int[]> response = new ArrayList<>();
+
+        // When
+        schedule.findMeeting(calendars, Duration.ofMinutes(30), (start, end) -> response.add(new int[]{start, end}));
+
+        // Then
+        Assert.assertEquals(3, response.size());
+        Assert.assertArrayEquals(new int[]{11 * 60 + 30, 12 * 60}, response.get(0));
+        Assert.assertArrayEquals(new int[]{15 * 60, 16 * 60}, response.get(1));
+        Assert.assertArrayEquals(new int[]{18 * 60, 18 * 60 + 30}, response.get(2));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_ReusedGapBuffer() throws IOException {
+
+        // Before
+        String calendar1 = Files.readString(Path.of("src/test/resources/data/Calendar1.json"));
+        String calendar2 = Files.readString(Path.of("src/test/resources/data/Calendar2.json"));
+        GapBuffer gaps = new GapBuffer(1);
+        schedule.findMeeting(calendar1, calendar2, "[00:05]", gaps);
+
+        // When
+        gaps.clear();
+        schedule.findMeeting(calendar1, calendar2, "[00:30]", gaps);
+
+        // Then
+        Assert.assertEquals(3, gaps.size());
+        Assert.assertEquals(11 * 60 + 30, gaps.getStartMinute(0));
+        Assert.assertEquals(12 * 60, gaps.getEndMinute(0));
+        Assert.assertArrayEquals(new int[]{11 * 60 + 30, 12 * 60, 15 * 60, 16 * 60, 18 * 60, 18 * 60 + 30}, gaps.toArray());
+    }
+
+    // Tests for ranked search (List<Calendar>, Duration, SlotRanking, int, Duration)
+    @Test
+    public void shouldCorrectlyFind_BestMeetings_Earliest() throws IOException {
+
+        // Before
+        List<Calendar> calendars = List.of(
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json"))),
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar2.json"))));
+
+        // When
+        List<String[]> response = schedule.findBestMeetings(calendars, Duration.ofMinutes(30), SlotRanking.earliest(), 3, Duration.ofMinutes(15));
+
+        // Then
+        Assert.assertEquals(3, response.size());
+        Assert.assertArrayEquals(new String[]{"11:30", "12:00"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"15:00", "15:30"}, response.get(1));
+        Assert.assertArrayEquals(new String[]{"15:15", "15:45"}, response.get(2));
+    }
+
+    @Test
+    public void shouldStopScoring_BestMeetings_InsideLongGap() {
+
+        // Before     // Counts scored slots, the whole day is a single gap of 1409 one minute steps
+        int[] scored = new int[1];
+        SlotRanking earliest = SlotRanking.earliest();
+        SlotRanking ranking = new SlotRanking() {
+            @Override
+            public double score(int slotStart, int gapStart, int gapEnd) {
+                scored[0]++;
+                return earliest.score(slotStart, gapStart, gapEnd);
+            }
+
+            @Override
+            public double upperBound(int minute, int windowEnd) {
+                return earliest.upperBound(minute, windowEnd);
+            }
+
+            @Override
+            public double upperBound(int slotStart, int gapStart, int gapEnd) {
+                return earliest.upperBound(slotStart, gapStart, gapEnd);
+            }
+        };
+
+        // When
+        List<String[]> response = schedule.findBestMeetings(List.of(calendar("00:00", "23:59")), Duration.ofMinutes(30), ranking, 2, Duration.ofMinutes(1));
+
+        // Then
+        Assert.assertEquals(2, scored[0]);
+        Assert.assertArrayEquals(new String[]{"00:00", "00:30"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"00:01", "00:31"}, response.get(1));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_BestMeetings_LongestGaps() throws IOException {
+
+        // Before
+        List<Calendar> calendars = List.of(
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json"))),
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar2.json"))));
+
+        // When
+        List<String[]> response = schedule.findBestMeetings(calendars, Duration.ofMinutes(30), SlotRanking.longest(), 2, Duration.ZERO);
+
+        // Then     // 11:30 - 12:00 and 18:00 - 18:30 tie, the earlier one wins
+        Assert.assertEquals(2, response.size());
+        Assert.assertArrayEquals(new String[]{"15:00", "16:00"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"11:30", "12:00"}, response.get(1));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_BestMeetings_ClosestToPreferredTime() throws IOException {
+
+        // Before
+        List<Calendar> calendars = List.of(
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar1.json"))),
+                ScheduleUtils.parseJsonToCalendar(Files.readString(Path.of("src/test/resources/data/Calendar2.json"))));
+
+        // When
+        List<String[]> response = schedule.findBestMeetings(calendars, Duration.ofMinutes(30),
+                SlotRanking.closestTo(LocalTime.of(17, 0)), 2, Duration.ofMinutes(5));
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertArrayEquals(new String[]{"18:00", "18:30"}, response.get(0));
+        Assert.assertArrayEquals(new String[]{"15:30", "16:00"}, response.get(1));
+    }
+
+    @Test
+    public void shouldFindSameBestMeetingsAsFullRanking_RandomCalendars() {
+
+        Random random = new Random(11L);
+        List<SlotRanking> rankings = List.of(SlotRanking.earliest(), SlotRanking.longest(), SlotRanking.closestTo(LocalTime.of(13, 7)));
+        for (int round = 0; round < 300; round++) {
+
+            // Before
+            List<Calendar> calendars = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                calendars.add(randomCalendar(random, random.nextInt(8)));
+            }
+            SlotRanking ranking = rankings.get(round % rankings.size());
+            int k = 1 + random.nextInt(4);
+            int step = random.nextInt(3) * 10;
+
+            // When
+            List<String[]> response = schedule.findBestMeetings(calendars, Duration.ofMinutes(20), ranking, k, Duration.ofMinutes(step));
+
+            // Then
+            List<int[]> candidates = new ArrayList<>();
+            for (String[] gap : schedule.findMeeting(calendars, Duration.ofMinutes(20))) {
+                int gapStart = LocalTime.parse(gap[0]).toSecondOfDay() / 60;
+                int gapEnd = LocalTime.parse(gap[1]).toSecondOfDay() / 60;
+                for (int start = gapStart; start + 20 <= gapEnd; start += step == 0 ? gapEnd : step) {
+                    candidates.add(new int[]{start, step == 0 ? gapEnd : start + 20, gapStart, gapEnd});
+                }
+            }
+            candidates.sort((a, b) -> Double.compare(ranking.score(b[0], b[2], b[3]), ranking.score(a[0], a[2], a[3])));
+
+            Assert.assertEquals("round " + round, Math.min(k, candidates.size()), response.size());
+            for (int i = 0; i < response.size(); i++) {
+                Assert.assertArrayEquals("round " + round, new String[]{ScheduleUtils.formatMinutes(candidates.get(i)[0]),
+                        ScheduleUtils.formatMinutes(candidates.get(i)[1])}, response.get(i));
+            }
+        }
+    }
+
+    // Tests for dated calendars (List<DatedCalendar>, LocalDate, LocalDate, Duration)
+    @Test
+    public void shouldCorrectlyFind_DatedCalendars_WeeklyPatternAndDayOff() {
+
+        // Before     // 2023-04-14 is a Friday
+        DatedCalendar calendar1 = officeWeek();
+        DatedCalendar calendar2 = officeWeek();
+        calendar2.getWorkingHoursOnDate().put(LocalDate.of(2023, 4, 17), null);
+        calendar2.getPlannedMeetings().add(new DatedMeeting(LocalDateTime.of(2023, 4, 14, 9, 0), LocalDateTime.of(2023, 4, 14, 16, 0)));
+
+        // When
+        List<LocalDateTime[]> response = schedule.findMeeting(List.of(calendar1, calendar2),
+                LocalDate.of(2023, 4, 14), LocalDate.of(2023, 4, 19), Duration.ofMinutes(30)).collect(Collectors.toList());
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 14, 16, 0), LocalDateTime.of(2023, 4, 14, 17, 0)}, response.get(0));
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 18, 9, 0), LocalDateTime.of(2023, 4, 18, 17, 0)}, response.get(1));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_DatedCalendars_MeetingCrossingMidnight() {
+
+        // Before
+        DatedCalendar calendar = new DatedCalendar();
+        WorkingHours allDay = new WorkingHours();
+        allDay.setStart("00:00");
+        allDay.setEnd("23:59");
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            calendar.getWeeklyWorkingHours().put(dayOfWeek, allDay);
+        }
+        calendar.getPlannedMeetings().add(new DatedMeeting(LocalDateTime.of(2023, 4, 14, 22, 0), LocalDateTime.of(2023, 4, 15, 2, 0)));
+
+        // When
+        List<LocalDateTime[]> response = schedule.findMeeting(List.of(calendar),
+                LocalDate.of(2023, 4, 14), LocalDate.of(2023, 4, 16), Duration.ofMinutes(60)).collect(Collectors.toList());
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 14, 0, 0), LocalDateTime.of(2023, 4, 14, 22, 0)}, response.get(0));
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 15, 2, 0), LocalDateTime.of(2023, 4, 15, 23, 59)}, response.get(1));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_DatedCalendars_LazilyOverLongRange() {
+
+        // When
+        LocalDateTime[] response = schedule.findMeeting(List.of(officeWeek()),
+                LocalDate.of(2023, 4, 15), LocalDate.of(9999, 1, 1), Duration.ofHours(8)).findFirst().orElseThrow();
+
+        // Then
+        Assert.assertEquals(LocalDateTime.of(2023, 4, 17, 9, 0), response[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_DatedCalendars_InvalidMeeting() {
+
+        // Before
+        DatedCalendar calendar = officeWeek();
+        calendar.getPlannedMeetings().add(new DatedMeeting(LocalDateTime.of(2023, 4, 14, 12, 0), LocalDateTime.of(2023, 4, 14, 11, 0)));
+
+        // Then
+        schedule.findMeeting(List.of(calendar), LocalDate.of(2023, 4, 14), LocalDate.of(2023, 4, 15), Duration.ofMinutes(30));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_DatedCalendars_RecurringMeetings() {
+
+        // Before     // 2023-04-14 is a Friday
+        DatedCalendar calendar1 = officeWeek();
+        RecurringMeeting standUp = recurring(RecurringMeeting.Frequency.WEEKLY, 1, LocalDate.of(2023, 4, 14), "09:00", "12:00");
+        standUp.setDaysOfWeek(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY));
+        standUp.getExceptions().add(LocalDate.of(2023, 4, 18));
+        calendar1.getRecurringMeetings().add(standUp);
+        DatedCalendar calendar2 = officeWeek();
+        calendar2.getRecurringMeetings().add(recurring(RecurringMeeting.Frequency.DAILY, 2, LocalDate.of(2023, 4, 14), "13:00", "17:00"));
 
+        // When
+        List<LocalDateTime[]> response = schedule.findMeeting(List.of(calendar1, calendar2),
+                LocalDate.of(2023, 4, 14), LocalDate.of(2023, 4, 19), Duration.ofMinutes(30)).collect(Collectors.toList());
+
+        // Then
+        Assert.assertEquals(3, response.size());
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 14, 12, 0), LocalDateTime.of(2023, 4, 14, 13, 0)}, response.get(0));
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 17, 12, 0), LocalDateTime.of(2023, 4, 17, 17, 0)}, response.get(1));
+        Assert.assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2023, 4, 18, 9, 0), LocalDateTime.of(2023, 4, 18, 13, 0)}, response.get(2));
+    }
+
+    @Test
+    public void shouldCorrectlyFind_DatedCalendars_MonthlyRuleSkipsShortMonths() {
+
+        // Before
+        DatedCalendar calendar = officeWeek();
+        for (DayOfWeek dayOfWeek : List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)) {
+            calendar.getWeeklyWorkingHours().put(dayOfWeek, calendar.getWeeklyWorkingHours().get(DayOfWeek.MONDAY));
+        }
+        calendar.getRecurringMeetings().add(recurring(RecurringMeeting.Frequency.MONTHLY, 1, LocalDate.of(2023, 1, 31), "09:00", "17:00"));
+
+        // When
+        List<LocalDate> response = schedule.findMeeting(List.of(calendar), LocalDate.of(2023, 1, 31), LocalDate.of(2023, 4, 1), Duration.ofHours(8))
+                .map(gap -> gap[0].toLocalDate()).collect(Collectors.toList());
+
+        // Then     // Only January 31st and March 31st are taken
+        Assert.assertEquals(58, response.size());
+        Assert.assertFalse(response.contains(LocalDate.of(2023, 1, 31)));
+        Assert.assertFalse(response.contains(LocalDate.of(2023, 3, 31)));
+    }
+
+    // Tests for zoned calendars (List<ZonedCalendar>, LocalDate, Duration)
+    @Test
+    public void shouldCorrectlyFind_ZonedCalendars_DifferentOffsets() {
+
+        // Before     // Warsaw is UTC+2 and New York UTC-4 in June
+        ZonedCalendar warsaw = zoned("Europe/Warsaw", "09:00", "17:00", meeting("15:00", "15:30"));
+        ZonedCalendar newYork = zoned("America/New_York", "09:00", "17:00");
+
+        // When
+        List<ZonedSlot> response = schedule.findMeeting(List.of(warsaw, newYork), LocalDate.of(2023, 6, 14), Duration.ofMinutes(30));
+
+        // Then
+        Assert.assertEquals(1, response.size());
+        Assert.assertEquals(Instant.parse("2023-06-14T13:30:00Z"), response.get(0).getStart());
+        Assert.assertEquals(Instant.parse("2023-06-14T15:00:00Z"), response.get(0).getEnd());
+        Assert.assertEquals(LocalDateTime.of(2023, 6, 14, 15, 30), response.get(0).getAttendeeTimes().get(0)[0].toLocalDateTime());
+        Assert.assertEquals(LocalDateTime.of(2023, 6, 14, 9, 30), response.get(0).getAttendeeTimes().get(1)[0].toLocalDateTime());
+        Assert.assertEquals(LocalDateTime.of(2023, 6, 14, 11, 0), response.get(0).getAttendeeTimes().get(1)[1].toLocalDateTime());
+    }
+
+    @Test
+    public void shouldCorrectlyFind_ZonedCalendars_DaylightSavingTimeChange() {
+
+        // Before     // On 2023-03-26 clocks go forward at 01:00 UTC, 02:00-03:00 does not exist in Warsaw
+        ZonedCalendar warsaw = zoned("Europe/Warsaw", "00:00", "06:00", meeting("02:30", "03:30"));
+        ZonedCalendar london = zoned("Europe/London", "00:00", "06:00");
+
+        // When
+        List<ZonedSlot> response = schedule.findMeeting(List.of(warsaw, london), LocalDate.of(2023, 3, 26), Duration.ofMinutes(60));
+
+        // Then
+        Assert.assertEquals(2, response.size());
+        Assert.assertEquals(Instant.parse("2023-03-26T00:00:00Z"), response.get(0).getStart());
+        Assert.assertEquals(Instant.parse("2023-03-26T01:00:00Z"), response.get(0).getEnd());
+        Assert.assertEquals(Instant.parse("2023-03-26T01:30:00Z"), response.get(1).getStart());
+        Assert.assertEquals(Instant.parse("2023-03-26T04:00:00Z"), response.get(1).getEnd());
+        Assert.assertEquals(LocalDateTime.of(2023, 3, 26, 3, 30), response.get(1).getAttendeeTimes().get(0)[0].toLocalDateTime());
+        Assert.assertEquals(LocalDateTime.of(2023, 3, 26, 2, 30), response.get(1).getAttendeeTimes().get(1)[0].toLocalDateTime());
+    }
+
+    @Test
+    public void shouldIgnoreMeeting_InsideDaylightSavingTimeGap() {
+
+        // Before     // On 2024-03-31 02:00-03:00 does not exist in Warsaw, so the meeting takes no time
+        ZonedCalendar warsaw = zoned("Europe/Warsaw", "00:00", "06:00", meeting("02:15", "02:45"));
+        ZonedCalendar utc = zoned("UTC", "00:00", "06:00");
+
+        // When
+        List<ZonedSlot> response = schedule.findMeeting(List.of(warsaw, utc), LocalDate.of(2024, 3, 31), Duration.ofMinutes(200));
+
+        // Then
+        Assert.assertEquals(1, response.size());
+        Assert.assertEquals(Instant.parse("2024-03-31T00:00:00Z"), response.get(0).getStart());
+        Assert.assertEquals(Instant.parse("2024-03-31T04:00:00Z"), response.get(0).getEnd());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowException_ZonedCalendars_NullZone() {
+
+        // Then
+        schedule.findMeeting(List.of(zoned(null, "09:00", "17:00")), LocalDate.of(2023, 6, 14), Duration.ofMinutes(30));
+    }
+
+    private static Calendar parse(String calendarString) {
+        try {
+            return ScheduleUtils.parseJsonToCalendar(calendarString);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package pl.orange.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.model.SlotDelta;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static pl.orange.testing.Calendars.calendar;
+import static pl.orange.testing.Calendars.meeting;
+
+public class SlotSubscriptionsTest {
+
+    @Test
+    public void shouldPushDelta_MeetingSplitsSlot() {
+
+        // Before
+        SlotSubscriptions subscriptions = new SlotSubscriptions();
+        subscriptions.addMember("anna", calendar("09:00", "17:00", meeting("12:00", "13:00")));
+        subscriptions.addMember("bob", calendar("10:00", "18:00"));
+        List<SlotDelta> deltas = new ArrayList<>();
+        SlotSubscriptions.Subscription subscription = subscriptions.subscribe(List.of("anna", "bob"), Duration.ofMinutes(30), deltas::add);
+
+        // When
+        subscriptions.insert("bob", meeting("14:00", "15:00"));
+
+        // Then
+        Assert.assertEquals(List.of("10:00-12:00", "13:00-14:00", "15:00-17:00"), format(subscription.getSlots()));
+        Assert.assertEquals(1, deltas.size());
+        Assert.assertEquals(List.of("13:00-14:00", "15:00-17:00"), format(deltas.get(0).getAdded()));
+        Assert.assertEquals(List.of("13:00-17:00"), format(deltas.get(0).getRemoved()));
+    }
+
+    @Test
+    public void shouldNotPush_ChangeOfOtherMemberOrInsideBusyTime() {
+
+        // Before
+        SlotSubscriptions subscriptions = new SlotSubscriptions();
+        subscriptions.addMember("anna", calendar("09:00", "17:00", meeting("12:00", "14:00")));
+        subscriptions.addMember("bob", calendar("09:00", "17:00"));
+        subscriptions.addMember("carl", calendar("09:00", "17:00"));
+        List<SlotDelta> deltas = new ArrayList<>();
+        subscriptions.subscribe(List.of("anna", "bob"), Duration.ofMinutes(30), deltas::add);
+
+        // When
+        subscriptions.insert("carl", meeting("10:00", "11:00"));
+        subscriptions.insert("anna", meeting("12:30", "13:00"));
+        subscriptions.remove("anna", meeting("12:30", "13:00"));
+
+        // Then
+        Assert.assertTrue(deltas.isEmpty());
+    }
+
+    @Test
+    public void shouldStayEqualToFullSearch_RandomChanges() {
+
+        Random random = new Random(19L);
+        for (int round = 0; round < 50; round++) {
+
+            // Before
+            SlotSubscriptions subscriptions = new SlotSubscriptions();
+            List<CalendarIndex> shadows = new ArrayList<>();
+            List<List<PlannedMeeting>> booked = new ArrayList<>();
+            int people = 1 + random.nextInt(4);
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < people; i++) {
+                Calendar calendar = calendar("08:00", "18:00");
+                subscriptions.addMember("member-" + i, calendar);
+                shadows.add(new CalendarIndex(calendar));
+                booked.add(new ArrayList<>());
+                ids.add("member-" + i);
+            }
+            Duration meetingDuration = Duration.ofMinutes(5 + random.nextInt(60));
+            List<SlotDelta> deltas = new ArrayList<>();
+            SlotSubscriptions.Subscription subscription = subscriptions.subscribe(ids, meetingDuration, deltas::add);
+            TreeSet<String> slots = new TreeSet<>(format(subscription.getSlots()));
+
+            for (int change = 0; change < 40; change++) {
+
+                // When
+                int member = random.nextInt(people);
+                if (booked.get(member).isEmpty() || random.nextInt(3) > 0) {
+                    int start = 8 * 60 + random.nextInt(9 * 60);
+                    PlannedMeeting meeting = meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(start + 5 + random.nextInt(55)));
+                    subscriptions.insert(ids.get(member), meeting);
+                    shadows.get(member).insert(meeting);
+                    booked.get(member).add(meeting);
+                } else {
+                    PlannedMeeting meeting = booked.get(member).remove(random.nextInt(booked.get(member).size()));
+                    Assert.assertTrue(subscriptions.remove(ids.get(member), meeting));
+                    shadows.get(member).remove(meeting);
+                }
+                for (SlotDelta delta : deltas) {
+                    format(delta.getRemoved()).forEach(slot -> Assert.assertTrue(slot, slots.remove(slot)));
+                    format(delta.getAdded()).forEach(slot -> Assert.assertTrue(slot, slots.add(slot)));
+                }
+                deltas.clear();
+
+                // Then
+                GapBuffer expected = new GapBuffer();
+                List<CompiledCalendar> snapshots = new ArrayList<>();
+                shadows.forEach(shadow -> snapshots.add(shadow.snapshot()));
+                new Schedule().findMeeting(snapshots, meetingDuration, expected);
+                List<String> expectedSlots = new ArrayList<>();
+                for (int i = 0; i < expected.size(); i++) {
+                    expectedSlots.add(ScheduleUtils.formatMinutes(expected.getStartMinute(i)) + "-" + ScheduleUtils.formatMinutes(expected.getEndMinute(i)));
+                }
+                Assert.assertEquals("round " + round, expectedSlots, format(subscription.getSlots()));
+                Assert.assertEquals("round " + round, expectedSlots, new ArrayList<>(slots));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_UnknownMember() {
+
+        // When
+        new SlotSubscriptions().subscribe(List.of("nobody"), Duration.ofMinutes(30), delta -> {
+        });
+    }
+
+    private static List<String> format(List<String[]> slots) {
+
+        List<String> formatted = new ArrayList<>();
+        for (String[] slot : slots) {
+            formatted.add(slot[0] + "-" + slot[1]);
+        }
+        return formatted;
+    }
+}
@@ -0,0 +1,130 @@
+package pl.orange.store;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.utils.ScheduleUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CalendarSnapshotTest {
+
+    private static final String[] CALENDAR_FILES = {"Calendar1.json", "Calendar2.json", "CalendarBig1.json", "CalendarBig2.json"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldAnswerSameAsJson() throws IOException {
+
+        // Before
+        List<CompiledCalendar> fromJson = new ArrayList<>();
+        CalendarStore.Builder builder = CalendarStore.builder();
+        for (int i = 0; i < CALENDAR_FILES.length; i++) {
+            String json = Files.readString(Path.of("src/test/resources/data/" + CALENDAR_FILES[i]));
+            fromJson.add(ScheduleUtils.parseJsonToCompiledCalendar(json));
+            builder.add(i, fromJson.get(i));
+        }
+        Path snapshot = folder.getRoot().toPath().resolve("calendars.snapshot");
+        CalendarSnapshot.write(builder.build(), snapshot);
+
+        // When
+        CalendarStore store = CalendarSnapshot.load(snapshot);
+
+        // Then
+        Assert.assertEquals(CALENDAR_FILES.length, store.getUserCount());
+        Schedule schedule = new Schedule();
+        for (int first = 0; first < CALENDAR_FILES.length; first++) {
+            for (int second = 0; second < CALENDAR_FILES.length; second++) {
+                for (int minutes : new int[]{5, 15, 30, 60}) {
+                    GapBuffer expected = new GapBuffer();
+                    schedule.findMeeting(List.of(fromJson.get(first), fromJson.get(second)), Duration.ofMinutes(minutes), expected);
+                    GapBuffer response = new GapBuffer();
+                    schedule.findMeeting(store, new int[]{first, second}, Duration.ofMinutes(minutes), response);
+                    Assert.assertArrayEquals(first + " " + second + " " + minutes, expected.toArray(), response.toArray());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplaceExistingSnapshot() throws IOException {
+
+        // Before
+        Path snapshot = folder.getRoot().toPath().resolve("calendars.snapshot");
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60}, new int[]{11 * 60}, 1);
+        CalendarSnapshot.write(CalendarStore.builder().add(1, calendar).build(), snapshot);
+
+        // When
+        CalendarSnapshot.write(CalendarStore.builder().add(1, calendar).add(2, calendar).build(), snapshot);
+
+        // Then
+        Assert.assertEquals(2, CalendarSnapshot.load(snapshot).getUserCount());
+        Assert.assertFalse(Files.exists(snapshot.resolveSibling("calendars.snapshot.tmp")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_NotSnapshot() throws IOException {
+
+        // Before
+        Path file = folder.newFile("calendar.json").toPath();
+        Files.writeString(file, "{\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"},\"planned_meeting\":[]}");
+
+        // When
+        CalendarSnapshot.load(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_UnsupportedVersion() throws IOException {
+
+        // Before
+        Path file = folder.newFile("future.snapshot").toPath();
+        ByteBuffer header = ByteBuffer.allocate(CalendarSnapshot.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(CalendarSnapshot.MAGIC).putInt(CalendarSnapshot.VERSION + 1).putLong(0);
+        Files.write(file, header.array());
+
+        // When
+        CalendarSnapshot.load(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_TruncatedSnapshot() throws IOException {
+
+        // Before
+        Path snapshot = folder.getRoot().toPath().resolve("calendars.snapshot");
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60}, new int[]{11 * 60}, 1);
+        CalendarSnapshot.write(CalendarStore.builder().add(1, calendar).build(), snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 4));
+
+        // When
+        CalendarSnapshot.load(snapshot);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_MeetingOffsetOutsideColumn() throws IOException {
+
+        // Before     // The second meeting offset of the only user, right after the header, the user id and the first offset
+        Path snapshot = folder.getRoot().toPath().resolve("calendars.snapshot");
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60}, new int[]{11 * 60}, 1);
+        CalendarSnapshot.write(CalendarStore.builder().add(1, calendar).build(), snapshot);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(snapshot)).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(CalendarSnapshot.HEADER_BYTES + CalendarStore.HEADER_BYTES + 2 * Integer.BYTES, 1000);
+        Files.write(snapshot, bytes.array());
+
+        // When
+        CalendarSnapshot.load(snapshot);
+    }
+}
@@ -0,0 +1,175 @@
+package pl.orange.store;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.CalendarView;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.service.GapBuffer;
+import pl.orange.service.Schedule;
+import pl.orange.utils.ScheduleUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static pl.orange.testing.Calendars.randomCalendar;
+
+public class CalendarStoreTest {
+
+    @Test
+    public void shouldReadBackEveryCalendar_AddedInAnyOrder() {
+
+        // Before
+        Random random = new Random(15L);
+        List<CompiledCalendar> calendars = new ArrayList<>();
+        CalendarStore.Builder builder = CalendarStore.builder();
+        for (int i = 0; i < 500; i++) {
+            calendars.add(ScheduleUtils.compileCalendar(randomCalendar(random, random.nextInt(20))));
+            builder.add(1000 - 7 * i, calendars.get(i));
+        }
+
+        // When
+        CalendarStore store = builder.build();
+
+        // Then
+        Assert.assertEquals(500, store.getUserCount());
+        Assert.assertTrue(store.getData().isDirect());
+        for (int i = 0; i < calendars.size(); i++) {
+            assertSameCalendar(calendars.get(i), store.get(1000 - 7 * i));
+        }
+        Assert.assertNull(store.get(1));
+        Assert.assertFalse(store.contains(1001));
+    }
+
+    @Test
+    public void shouldFindSameGapsAsCompiledCalendars() {
+
+        // Before
+        Random random = new Random(16L);
+        List<CompiledCalendar> calendars = new ArrayList<>();
+        CalendarStore.Builder builder = CalendarStore.builder();
+        for (int i = 0; i < 100; i++) {
+            calendars.add(ScheduleUtils.compileCalendar(randomCalendar(random, random.nextInt(12))));
+            builder.add(i, calendars.get(i));
+        }
+        CalendarStore store = builder.build();
+        Schedule schedule = new Schedule();
+
+        for (int round = 0; round < 200; round++) {
+            int[] userIds = new int[1 + random.nextInt(5)];
+            List<CompiledCalendar> compiled = new ArrayList<>();
+            for (int i = 0; i < userIds.length; i++) {
+                userIds[i] = random.nextInt(calendars.size());
+                compiled.add(calendars.get(userIds[i]));
+            }
+            Duration meetingDuration = Duration.ofMinutes(1 + random.nextInt(90));
+
+            // When
+            GapBuffer expected = new GapBuffer();
+            schedule.findMeeting(compiled, meetingDuration, expected);
+            GapBuffer response = new GapBuffer();
+            schedule.findMeeting(store, userIds, meetingDuration, response);
+
+            // Then
+            Assert.assertArrayEquals("round " + round, expected.toArray(), response.toArray());
+        }
+    }
+
+    @Test
+    public void shouldWrapCopiedData() {
+
+        // Before
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60}, new int[]{11 * 60}, 1);
+        ByteBuffer data = CalendarStore.builder().add(42, calendar).build().getData();
+        ByteBuffer copy = ByteBuffer.allocate(data.remaining());
+        copy.put(data).flip();
+
+        // When
+        CalendarStore store = CalendarStore.wrap(copy);
+
+        // Then
+        assertSameCalendar(calendar, store.get(42));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_DuplicateUserId() {
+
+        // Before
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[0], new int[0], 0);
+
+        // When
+        CalendarStore.builder().add(7, calendar).add(3, calendar).add(7, calendar).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_UnknownUserId() {
+
+        // Before
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[0], new int[0], 0);
+        CalendarStore store = CalendarStore.builder().add(7, calendar).build();
+
+        // When
+        new Schedule().findMeeting(store, new int[]{7, 8}, Duration.ofMinutes(30), new GapBuffer());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_TruncatedData() {
+
+        // Before
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60}, new int[]{11 * 60}, 1);
+        ByteBuffer data = CalendarStore.builder().add(42, calendar).build().getData();
+        data.limit(data.limit() - 2);
+
+        // When
+        CalendarStore.wrap(data);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_MeetingCountOverflowingColumns() {
+
+        // Before     // 2^30 more meetings add 2^32 bytes to the columns, which an int layout would wrap back to the same size
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[]{10 * 60}, new int[]{11 * 60}, 1);
+        ByteBuffer stored = CalendarStore.builder().add(42, calendar).build().getData();
+        ByteBuffer data = ByteBuffer.allocate(stored.remaining()).order(ByteOrder.LITTLE_ENDIAN).put(stored).flip();
+        data.putInt(Integer.BYTES, 1 + (1 << 30));
+
+        // When
+        CalendarStore.wrap(data);
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldNotFindUnknownUser_FullIndex() {
+
+        // Before     // Every slot of the index points at user 42, so no probe ever reaches an empty one
+        CompiledCalendar calendar = CompiledCalendar.of(9 * 60, 17 * 60, new int[0], new int[0], 0);
+        ByteBuffer stored = CalendarStore.builder().add(42, calendar).build().getData();
+        ByteBuffer data = ByteBuffer.allocate(stored.remaining()).order(ByteOrder.LITTLE_ENDIAN).put(stored).flip();
+        for (int slot = 0; slot < CalendarStore.indexCapacity(1); slot++) {
+            data.putInt(data.limit() - (slot + 1) * Integer.BYTES, 1);
+        }
+
+        // When
+        CalendarStore store = CalendarStore.wrap(data);
+
+        // Then
+        Assert.assertTrue(store.contains(42));
+        Assert.assertFalse(store.contains(7));
+        Assert.assertNull(store.get(7));
+    }
+
+    private static void assertSameCalendar(CompiledCalendar expected, CalendarView calendar) {
+
+        Assert.assertNotNull(calendar);
+        Assert.assertEquals(expected.getStartOfWork(), calendar.getStartOfWork());
+        Assert.assertEquals(expected.getEndOfWork(), calendar.getEndOfWork());
+        Assert.assertEquals(expected.getGranularity(), calendar.getGranularity());
+        Assert.assertEquals(expected.getMeetingCount(), calendar.getMeetingCount());
+        for (int i = 0; i < expected.getMeetingCount(); i++) {
+            Assert.assertEquals(expected.getMeetingStart(i), calendar.getMeetingStart(i));
+            Assert.assertEquals(expected.getMeetingEnd(i), calendar.getMeetingEnd(i));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package pl.orange.testing;
+
+import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
+import pl.orange.model.DatedCalendar;
+import pl.orange.model.PlannedMeeting;
+import pl.orange.model.RecurringMeeting;
+import pl.orange.model.WorkingHours;
+import pl.orange.model.ZonedCalendar;
+import pl.orange.utils.ScheduleUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Builders of calendars written by hand in tests and seeded random calendars for the ones compared against a brute force
+public final class Calendars {
+
+    private Calendars() {
+    }
+
+    public static WorkingHours workingHours(String start, String end) {
+
+        WorkingHours workingHours = new WorkingHours();
+        workingHours.setStart(start);
+        workingHours.setEnd(end);
+        return workingHours;
+    }
+
+    public static PlannedMeeting meeting(String start, String end) {
+
+        PlannedMeeting plannedMeeting = new PlannedMeeting();
+        plannedMeeting.setStart(start);
+        plannedMeeting.setEnd(end);
+        return plannedMeeting;
+    }
+
+    // Meetings go to a mutable list, so tests can book more later
+    public static Calendar calendar(String startOfWork, String endOfWork, PlannedMeeting... meetings) {
+
+        Calendar calendar = new Calendar();
+        calendar.setWorkingHours(workingHours(startOfWork, endOfWork));
+        calendar.setPlannedMeetings(new ArrayList<>(List.of(meetings)));
+        return calendar;
+    }
+
+    // A null zone is kept, for tests of the validation
+    public static ZonedCalendar zoned(String zone, String startOfWork, String endOfWork, PlannedMeeting... meetings) {
+
+        ZonedCalendar calendar = new ZonedCalendar();
+        calendar.setWorkingHours(workingHours(startOfWork, endOfWork));
+        calendar.setPlannedMeetings(new ArrayList<>(List.of(meetings)));
+        calendar.setZone(zone == null ? null : ZoneId.of(zone));
+        return calendar;
+    }
+
+    public static RecurringMeeting recurring(RecurringMeeting.Frequency frequency, int interval, LocalDate firstDate, String start, String end) {
+
+        RecurringMeeting meeting = new RecurringMeeting();
+        meeting.setFrequency(frequency);
+        meeting.setInterval(interval);
+        meeting.setFirstDate(firstDate);
+        meeting.setStart(start);
+        meeting.setEnd(end);
+        return meeting;
+    }
+
+    // Works 09:00 - 17:00 from Monday to Friday, without meetings
+    public static DatedCalendar officeWeek() {
+
+        WorkingHours workingHours = workingHours("09:00", "17:00");
+        DatedCalendar calendar = new DatedCalendar();
+        for (DayOfWeek dayOfWeek : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            calendar.getWeeklyWorkingHours().put(dayOfWeek, workingHours);
+        }
+        return calendar;
+    }
+
+    // Working hours anywhere from 06:00 to 20:00 and meetings of up to 90 minutes on a minute grid,
+    // unsorted and overlapping. Fills the given calendar, so subclasses like rooms get the same data
+    public static <T extends Calendar> T randomCalendar(Random random, T calendar, int meetings) {
+
+        int startOfWork = 6 * 60 + random.nextInt(4 * 60);
+        int endOfWork = startOfWork + 60 + random.nextInt(10 * 60);
+        List<PlannedMeeting> plannedMeetings = new ArrayList<>(meetings);
+        for (int i = 0; i < meetings; i++) {
+            int start = startOfWork + random.nextInt(endOfWork - startOfWork);
+            int end = start + 1 + random.nextInt(Math.min(90, endOfWork - start));
+            plannedMeetings.add(meeting(ScheduleUtils.formatMinutes(start), ScheduleUtils.formatMinutes(end)));
+        }
+
+        calendar.setWorkingHours(workingHours(ScheduleUtils.formatMinutes(startOfWork), ScheduleUtils.formatMinutes(endOfWork)));
+        calendar.setPlannedMeetings(plannedMeetings);
+        return calendar;
+    }
+
+    public static Calendar randomCalendar(Random random, int meetings) {
+        return randomCalendar(random, new Calendar(), meetings);
+    }
+
+    // Working hours and meetings on the given minute grid anywhere in the day, midnight to midnight included
+    public static CompiledCalendar randomCalendarOnGrid(Random random, int meetings, int grid) {
+
+        int slots = CompiledCalendar.MINUTES_PER_DAY / grid;
+        int startSlot = random.nextInt(slots - 1);
+        int endSlot = startSlot + 1 + random.nextInt(slots - startSlot - 1);
+
+        int[] starts = new int[meetings];
+        int[] ends = new int[meetings];
+        for (int i = 0; i < meetings; i++) {
+            int from = startSlot + random.nextInt(endSlot - startSlot);
+            int to = from + 1 + random.nextInt(Math.min(24, endSlot - from));
+            starts[i] = from * grid;
+            ends[i] = to * grid;
+        }
+
+        return CompiledCalendar.of(startSlot * grid, endSlot * grid, starts, ends, meetings);
+    }
+}
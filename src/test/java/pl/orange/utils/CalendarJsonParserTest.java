@@ -0,0 +1,116 @@
+package pl.orange.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.orange.model.CompiledCalendar;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CalendarJsonParserTest {
+
+    @Test
+    public void shouldCorrectlyParse_SameAsTreeParser() throws IOException {
+
+        // Before
+        String calendarString = Files.readString(Path.of("src/test/resources/data/CalendarBig1.json"));
+
+        // When
+        CompiledCalendar expected = ScheduleUtils.compileCalendar(ScheduleUtils.parseJsonToCalendar(calendarString));
+        CompiledCalendar calendar = CalendarJsonParser.parse(calendarString);
+
+        // Then
+        Assert.assertEquals(expected.getStartOfWork(), calendar.getStartOfWork());
+        Assert.assertEquals(expected.getEndOfWork(), calendar.getEndOfWork());
+        Assert.assertEquals(expected.getMeetingCount(), calendar.getMeetingCount());
+        for (int i = 0; i < expected.getMeetingCount(); i++) {
+            Assert.assertEquals(expected.getMeetingStart(i), calendar.getMeetingStart(i));
+            Assert.assertEquals(expected.getMeetingEnd(i), calendar.getMeetingEnd(i));
+        }
+    }
+
+    @Test
+    public void shouldCorrectlyParse_BytesAndStream() throws IOException {
+
+        // Before
+        byte[] calendarBytes = Files.readAllBytes(Path.of("src/test/resources/data/Calendar1.json"));
+
+        // When
+        CompiledCalendar fromBytes = CalendarJsonParser.parse(calendarBytes);
+        CompiledCalendar fromStream = CalendarJsonParser.parse(new ByteArrayInputStream(calendarBytes));
+
+        // Then
+        Assert.assertEquals(9 * 60, fromBytes.getStartOfWork());
+        Assert.assertEquals(19 * 60 + 55, fromBytes.getEndOfWork());
+        Assert.assertEquals(3, fromBytes.getMeetingCount());
+        Assert.assertEquals(fromBytes.getMeetingCount(), fromStream.getMeetingCount());
+        Assert.assertEquals(16 * 60, fromStream.getMeetingStart(2));
+        Assert.assertEquals(18 * 60, fromStream.getMeetingEnd(2));
+    }
+
+    @Test
+    public void shouldCorrectlyParse_SkipUnknownFields() throws IOException {
+
+        // Before
+        String calendarString = "{\"owner\":{\"name\":\"Ding Liren\"},\"planned_meeting\":[{\"start\":\"10:00\",\"end\":\"10:30\",\"room\":[1,2]}],\"working_hours\":{\"start\":\"09:00\",\"end\":\"17:00\"}}";
+
+        // When
+        CompiledCalendar calendar = CalendarJsonParser.parse(calendarString.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        Assert.assertEquals(1, calendar.getMeetingCount());
+        Assert.assertEquals(10 * 60, calendar.getMeetingStart(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldThrowException_NonJsonString() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("I am not JSON");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_NotCalendarObject() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("[{\"chess_players\": \"Ding Liren\"}]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_MissingWorkingHoursEnd() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("{\"working_hours\":{\"start\":\"08:30\"},\"planned_meeting\":[]}");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowException_MissingPlannedMeetings() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("{\"working_hours\":{\"start\":\"08:30\",\"end\":\"12:00\"}}");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowException_NullPlannedMeetingElement() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("{\"working_hours\":{\"start\":\"08:30\",\"end\":\"12:00\"},\"planned_meeting\":[null]}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_MeetingAfterWorkingHours() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("{\"planned_meeting\":[{\"start\":\"10:30\",\"end\":\"18:51\"}],\"working_hours\":{\"start\":\"10:00\",\"end\":\"18:50\"}}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_InvalidTimeFormat() throws IOException {
+
+        // Then
+        CalendarJsonParser.parse("{\"working_hours\":{\"start\":\"08:30\",\"end\":\"24:00\"},\"planned_meeting\":[]}");
+    }
+}
@@ -2,8 +2,8 @@ package pl.orange.utils;
 
 import org.junit.Assert;
 import org.junit.Test;
-import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonProcessingException;
 import pl.orange.model.Calendar;
+import pl.orange.model.CompiledCalendar;
 import pl.orange.model.PlannedMeeting;
 import pl.orange.model.WorkingHours;
 
@@ -14,6 +14,8 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import static pl.orange.testing.Calendars.meeting;
+
 public class ScheduleUtilsTest {
 
     private String getSimpleCalendarJsonString() throws IOException {
@@ -45,7 +47,7 @@ public class ScheduleUtilsTest {
         ScheduleUtils.parseJsonToCalendar(null);
     }
 
-    @Test(expected = JsonProcessingException.class)
+    @Test(expected = IllegalArgumentException.class)
     public void shouldCorrectlyHandle_Parse_NonJsonString() throws IOException {
 
         // Before
@@ -214,4 +216,72 @@ public class ScheduleUtilsTest {
         ScheduleUtils.validCalendarData(calendar);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldCorrectly_Compile_SortedMinutes() throws IOException {
+
+        // Before
+        String calendarString = Files.readString(Path.of("src/test/resources/data/CalendarBig2.json"));
+
+        // When
+        CompiledCalendar calendar = ScheduleUtils.compileCalendar(ScheduleUtils.parseJsonToCalendar(calendarString));
+
+        // Then
+        Assert.assertEquals(9 * 60, calendar.getStartOfWork());
+        Assert.assertEquals(17 * 60, calendar.getEndOfWork());
+        // 10 meetings, three pairs of them overlap and are merged
+        Assert.assertEquals(7, calendar.getMeetingCount());
+        Assert.assertEquals(9 * 60, calendar.getMeetingStart(0));
+        Assert.assertEquals(9 * 60 + 25, calendar.getMeetingEnd(0));
+        for (int i = 1; i < calendar.getMeetingCount(); i++) {
+            Assert.assertTrue(calendar.getMeetingEnd(i - 1) < calendar.getMeetingStart(i));
+        }
+    }
+
+    @Test
+    public void shouldCorrectly_Compile_MergeOverlappingAndAdjacentMeetings() {
+
+        // Before
+        WorkingHours workingHours = new WorkingHours();
+        workingHours.setStart("08:00");
+        workingHours.setEnd("18:00");
+        Calendar calendar = new Calendar();
+        calendar.setWorkingHours(workingHours);
+        calendar.setPlannedMeetings(List.of(meeting("11:00", "12:00"), meeting("09:00", "10:00"),
+                meeting("10:00", "10:30"), meeting("09:15", "09:45"), meeting("11:30", "13:00")));
+
+        // When
+        CompiledCalendar compiled = ScheduleUtils.compileCalendar(calendar);
+
+        // Then
+        Assert.assertEquals(2, compiled.getMeetingCount());
+        Assert.assertEquals(9 * 60, compiled.getMeetingStart(0));
+        Assert.assertEquals(10 * 60 + 30, compiled.getMeetingEnd(0));
+        Assert.assertEquals(11 * 60, compiled.getMeetingStart(1));
+        Assert.assertEquals(13 * 60, compiled.getMeetingEnd(1));
+        Assert.assertEquals(CompiledCalendar.of(8 * 60, 18 * 60, new int[]{11 * 60, 9 * 60}, new int[]{13 * 60, 10 * 60 + 30}, 2), compiled);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowException_Compile_InvalidTimeFormat() {
+
+        // Before
+        Calendar calendar = new Calendar();
+        WorkingHours workingHours = new WorkingHours();
+        workingHours.setStart("9:00");
+        workingHours.setEnd("17:00");
+        calendar.setWorkingHours(workingHours);
+        calendar.setPlannedMeetings(new ArrayList<>());
+
+        // Then
+        ScheduleUtils.compileCalendar(calendar);
+    }
+
+    @Test
+    public void shouldCorrectly_FormatMinutes() {
+
+        // Then
+        Assert.assertEquals("00:00", ScheduleUtils.formatMinutes(0));
+        Assert.assertEquals("09:05", ScheduleUtils.formatMinutes(9 * 60 + 5));
+        Assert.assertEquals("23:59", ScheduleUtils.formatMinutes(23 * 60 + 59));
+    }
+}
@@ -0,0 +1,61 @@
+package pl.orange.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+public class ZoneAxisTest {
+
+    @Test
+    public void shouldCorrectly_MapLocalTimes_AroundFallBack() {
+
+        // Before     // On 2023-10-29 Warsaw goes back from 03:00 CEST to 02:00 CET, the repeated hour keeps the earlier offset
+        ZoneId zone = ZoneId.of("Europe/Warsaw");
+        LocalDate date = LocalDate.of(2023, 10, 29);
+
+        // When
+        Instant beforeChange = ZoneAxis.toInstant(date, ZoneAxis.toAxisMinute(zone, date, 2 * 60 + 30));
+        Instant afterChange = ZoneAxis.toInstant(date, ZoneAxis.toAxisMinute(zone, date, 3 * 60));
+
+        // Then
+        Assert.assertEquals(Instant.parse("2023-10-29T00:30:00Z"), beforeChange);
+        Assert.assertEquals(Instant.parse("2023-10-29T02:00:00Z"), afterChange);
+    }
+
+    @Test
+    public void shouldCorrectly_MapLocalTimes_OnPreviousUtcDate() {
+
+        // Before
+        ZoneId zone = ZoneId.of("Asia/Tokyo");
+        LocalDate date = LocalDate.of(2023, 6, 14);
+
+        // When
+        int axisMinute = ZoneAxis.toAxisMinute(zone, date, 8 * 60);
+
+        // Then
+        Assert.assertEquals(23 * 60, axisMinute);
+        Assert.assertEquals(Instant.parse("2023-06-13T23:00:00Z"), ZoneAxis.toInstant(date, axisMinute));
+    }
+
+    @Test
+    public void shouldCorrectly_MapLocalTimes_ManyDates() {
+
+        // Before - far more dates than the cache keeps, some sharing a slot with a DST change
+        ZoneId zone = ZoneId.of("Europe/Warsaw");
+        LocalDate from = LocalDate.of(2020, 1, 1);
+
+        for (int round = 0; round < 2; round++) {
+            for (LocalDate date = from; date.isBefore(from.plusYears(5)); date = date.plusDays(1)) {
+
+                // When
+                int axisMinute = ZoneAxis.toAxisMinute(zone, date, 12 * 60);
+
+                // Then
+                Assert.assertEquals(date.atTime(12, 0).atZone(zone).toInstant(), ZoneAxis.toInstant(date, axisMinute));
+            }
+        }
+    }
+}